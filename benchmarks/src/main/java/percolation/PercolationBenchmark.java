@@ -0,0 +1,147 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  JMH benchmarks of Percolation parameterised by width of field,
+ *  order in which sites are opened and tracking of full sites.
+ *----------------------------------------------------------------*/
+
+package percolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PercolationBenchmark {
+    private static final long SEED = 20170125L;
+
+    @Param({"64", "256", "1024", "4096", "8192"})
+    private int n;
+
+    @Param({"random", "rowMajor", "adversarial"})
+    private String order;
+
+    @Param({"false", "true"})
+    private boolean tracked;
+
+    private Percolation field;    //  field reopened by benchmarks
+    private int[] sites;          //  order of opening sites
+    private int percolatesAt;     //  position in order after which field percolates
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sites = order(n, order);
+        field = new Percolation(n);
+        if (tracked) {
+            field.trackFullSites();
+        }
+
+        percolatesAt = field.openUntilPercolates(sites, 0, sites.length);
+    }
+
+    /**
+     *   Build order of opening sites of n x n field.
+     *   Random is uniform shuffle, row-major opens rows top to bottom,
+     *   adversarial first opens every other row, so each later site
+     *   merges two row-long components and field percolates last.
+     *
+     *   @param n the integer representing of width of field
+     *   @param kind the name of order
+     *   @return the permutation of site indices
+     */
+    static int[] order(int n, String kind) {
+        int count = n * n;
+        int[] sites = new int[count];
+        if ("random".equals(kind)) {
+            SplittableRandom random = new SplittableRandom(SEED);
+            for (int i = 0; i < count; i++) {
+                int j = random.nextInt(i + 1);
+                sites[i] = sites[j];
+                sites[j] = i;
+            }
+        } else if ("rowMajor".equals(kind)) {
+            for (int i = 0; i < count; i++) {
+                sites[i] = i;
+            }
+        } else if ("adversarial".equals(kind)) {
+            int i = 0;
+            for (int row = 0; row < n; row += 2) {
+                for (int col = 0; col < n; col++) {
+                    sites[i++] = row * n + col;
+                }
+            }
+
+            for (int row = 1; row < n; row += 2) {
+                for (int col = 0; col < n; col++) {
+                    sites[i++] = row * n + col;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown order " + kind);
+        }
+
+        return sites;
+    }
+
+    /**
+     *   Reset field and open sites until it percolates.
+     */
+    @Benchmark
+    public int openUntilPercolates() {
+        field.reset();
+        return field.openUntilPercolates(sites, 0, sites.length);
+    }
+
+    /**
+     *   Reset field and open every site with single calls of open(row, col).
+     */
+    @Benchmark
+    public boolean openEverySite() {
+        field.reset();
+        for (int site : sites) {
+            field.open(site / n + 1, 1 + site % n);
+        }
+
+        return field.percolates();
+    }
+
+    /**
+     *   Query every site of percolating field with isFull(row, col).
+     */
+    @Benchmark
+    public int isFullScan() {
+        if (field.numberOfOpenSites() != percolatesAt + 1) {
+            field.reset();
+            field.openUntilPercolates(sites, 0, sites.length);
+        }
+
+        int full = 0;
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                if (field.isFull(row, col)) {
+                    full++;
+                }
+            }
+        }
+
+        return full;
+    }
+}
@@ -0,0 +1,55 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  JMH benchmark of single percolation trial as performed by
+ *  PercolationStats, parameterised by width of field.
+ *----------------------------------------------------------------*/
+
+package percolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PercolationTrialBenchmark {
+    private static final long SEED = 20170125L;
+
+    @Param({"64", "256", "1024", "4096", "8192"})
+    private int n;
+
+    private PercolationTrial trial;    //  trial reused by every invocation
+    private SplittableRandom random;   //  random stream of trials
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trial = new PercolationTrial(n);
+        random = new SplittableRandom(SEED);
+    }
+
+    /**
+     *   Perform one trial on reused field.
+     */
+    @Benchmark
+    public double trial() {
+        return trial.run(random);
+    }
+}
@@ -0,0 +1,100 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Simple cubic lattice of width x height x depth sites with
+ *  6 neighbours. Site in row r, column c and layer l (all 0-based)
+ *  has index (r * width + c) * depth + l, top boundary is row 0.
+ *----------------------------------------------------------------*/
+
+public class CubicLattice extends Lattice {
+    private final int width;       //  number of columns
+    private final int depth;       //  number of layers
+    private final int rowStride;   //  distance between indices of neighbouring rows
+    private final int count;       //  number of sites
+
+    /**
+     *   Class constructor specifying edge of n x n x n cube
+     *
+     *   @param n the integer representing of edge of cube
+     *
+     *   @throws IllegalArgumentException unless {@code n > 0}
+     */
+    public CubicLattice(int n) {
+        this(n, n, n);
+    }
+
+    /**
+     *   Class constructor specifying size of lattice
+     *
+     *   @param width the integer representing of number of columns
+     *   @param height the integer representing of number of rows
+     *   @param depth the integer representing of number of layers
+     *
+     *   @throws IllegalArgumentException unless
+     *      {@code width > 0}, {@code height > 0} and {@code depth > 0}
+     */
+    public CubicLattice(int width, int height, int depth) {
+        if (width <= 0 || height <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Width, height and depth should be positive");
+        }
+
+        this.width = width;
+        this.depth = depth;
+        this.rowStride = Math.multiplyExact(width, depth);
+        this.count = Math.multiplyExact(rowStride, height);
+    }
+
+    @Override
+    public int sites() {
+        return count;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 6;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int layer = site % depth;
+        int col = (site / depth) % width;
+        int n = 0;
+        if (site >= rowStride) {
+            out[n++] = site - rowStride;
+        }
+
+        if (site < count - rowStride) {
+            out[n++] = site + rowStride;
+        }
+
+        if (col > 0) {
+            out[n++] = site - depth;
+        }
+
+        if (col < width - 1) {
+            out[n++] = site + depth;
+        }
+
+        if (layer > 0) {
+            out[n++] = site - 1;
+        }
+
+        if (layer < depth - 1) {
+            out[n++] = site + 1;
+        }
+
+        return n;
+    }
+
+    @Override
+    public boolean onTop(int site) {
+        return site < rowStride;
+    }
+
+    @Override
+    public boolean onBottom(int site) {
+        return site >= count - rowStride;
+    }
+}
@@ -0,0 +1,96 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Bitmap of full sites maintained while sites are opened.
+ *  Members of every component are kept in circular linked list,
+ *  so when component gets connected to top all its sites are
+ *  marked in one walk. Site becomes full at most once between
+ *  resets, which makes maintenance O(1) amortized per site.
+ *----------------------------------------------------------------*/
+
+import java.util.Arrays;
+
+final class FullSites {
+    private final long[] bits;   //  bit of site s is bit (s & 63) of bits[s >>> 6]
+    private final int[] next;    //  next member in circular list of component
+
+    /**
+     *   Class constructor specifying number of sites
+     *
+     *   @param count the integer representing of number of sites
+     */
+    FullSites(int count) {
+        bits = new long[(count + 63) >>> 6];
+        next = new int[count];
+        reset();
+    }
+
+    /**
+     *   Clear bitmap and make every site singleton component.
+     */
+    void reset() {
+        Arrays.fill(bits, 0L);
+        for (int i = 0; i < next.length; i++) {
+            next[i] = i;
+        }
+    }
+
+    /**
+     *   Check if site is marked full.
+     *
+     *   @param site the index of site
+     *   @return {@code true} if site is full, otherwise {@code false}
+     */
+    boolean isFull(int site) {
+        return (bits[site >>> 6] & (1L << site)) != 0;
+    }
+
+    /**
+     *   Mark single site full without walking its component.
+     *
+     *   @param site the index of site
+     */
+    void mark(int site) {
+        bits[site >>> 6] |= 1L << site;
+    }
+
+    /**
+     *   Mark all sites of component containing site full.
+     *
+     *   @param site the index of any site of component
+     */
+    void fill(int site) {
+        if (isFull(site)) {
+            return;
+        }
+
+        int current = site;
+        do {
+            mark(current);
+            current = next[current];
+        } while (current != site);
+    }
+
+    /**
+     *   Join lists of two different components.
+     *
+     *   @param p the index of site of first component
+     *   @param q the index of site of second component
+     */
+    void link(int p, int q) {
+        int nextP = next[p];
+        next[p] = next[q];
+        next[q] = nextP;
+    }
+
+    /**
+     *   Gets the bitmap, laid out as {@link java.util.BitSet#toLongArray()}.
+     *
+     *   @return {@code bits}
+     */
+    long[] words() {
+        return bits;
+    }
+}
@@ -0,0 +1,52 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Shape of percolation system. Sites are numbered 0 .. sites() - 1,
+ *  system percolates when a site on top boundary is connected to a
+ *  site on bottom boundary. Implementations must be immutable, so one
+ *  lattice can be shared by fields of all worker threads.
+ *----------------------------------------------------------------*/
+
+public abstract class Lattice {
+
+    /**
+     *   Gets the number of sites
+     *
+     *   @return the number of sites
+     */
+    public abstract int sites();
+
+    /**
+     *   Gets the maximal number of neighbours of a site
+     *
+     *   @return the maximal number of neighbours
+     */
+    public abstract int maxDegree();
+
+    /**
+     *   Write neighbours of site into array.
+     *
+     *   @param site the index of site
+     *   @param out the array of length at least {@code maxDegree()}
+     *   @return the number of written neighbours
+     */
+    public abstract int neighbours(int site, int[] out);
+
+    /**
+     *   Check if site lies on top boundary.
+     *
+     *   @param site the index of site
+     *   @return {@code true} if site is on top boundary, otherwise {@code false}
+     */
+    public abstract boolean onTop(int site);
+
+    /**
+     *   Check if site lies on bottom boundary.
+     *
+     *   @param site the index of site
+     *   @return {@code true} if site is on bottom boundary, otherwise {@code false}
+     */
+    public abstract boolean onBottom(int site);
+}
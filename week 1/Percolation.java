@@ -1,24 +1,21 @@
 /*----------------------------------------------------------------
  *  Author:        Vadim Babaev
  *  Written:       25.01.2017
- *  Last updated:  25.01.2017
+ *  Last updated:  18.10.2026
  *
  *  Implementation of Percolation class.
  *----------------------------------------------------------------*/
 
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
-
 public class Percolation {
-    private static final byte OPEN = 1;
-    private static final byte CONNECTED_TO_TOP = 2;
-    private static final byte CONNECTED_TO_BOTTOM = 4;
-    private static final byte CONNECTED_BOTH = 6;
-    private static final byte DIRS_LENGTH = 4;
-    private static final byte[][] DIRS = new byte[][]{{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+    private static final int CONNECTED_TO_TOP = 2;
+    private static final int CONNECTED_TO_BOTTOM = 4;
+    private static final int CONNECTED_BOTH = 6;
     private boolean isPercolates = false;
-    private WeightedQuickUnionUF field;     //  representation of field
-    private int width;                      //  width of field
-    private byte[] status;                  //  array with status of cells
+    private PercolationUnionFind field;     //  cells with status flags kept in roots
+    private Lattice lattice;                //  shape of field
+    private RectangularLattice grid;        //  shape of field if it is addressed by row and col
+    private int[] neighbours;               //  buffer for neighbours of opened cell
+    private FullSites full;                 //  bitmap of full cells, null unless tracked
     private int openedCount;                //  quantity of opened cells
 
     /**
@@ -29,17 +26,50 @@ public class Percolation {
      *   @throws IllegalArgumentException unless {@code n > 0}
      */
     public Percolation(int n) {
-        if (n <= 0) {
-            throw new IllegalArgumentException("N should be more than 1");
+        this(checkWidth(n), n);
+    }
+
+    /**
+     *   Class constructor specifying width and height of rectangular field
+     *
+     *   @param width the integer representing of number of columns
+     *   @param height the integer representing of number of rows
+     *
+     *   @throws IllegalArgumentException unless
+     *      both {@code width > 0} and {@code height > 0}
+     */
+    public Percolation(int width, int height) {
+        this(new RectangularLattice(width, height));
+    }
+
+    /**
+     *   Class constructor specifying shape of field. Cells of lattice
+     *   which is not {@link RectangularLattice} are addressed only by
+     *   linear index.
+     *
+     *   @param lattice the shape of field
+     */
+    public Percolation(Lattice lattice) {
+        this.lattice = lattice;
+        if (lattice instanceof RectangularLattice) {
+            grid = (RectangularLattice) lattice;
         }
 
-        int count = n*n;
-        width = n;
-        field = new WeightedQuickUnionUF(count);
-        status = new byte[count];
-        for (int i = 0; i < count; i++) {
-            status[i] = 0;
+        field = new PercolationUnionFind(lattice.sites());
+        neighbours = new int[lattice.maxDegree()];
+    }
+
+    /**
+     *   Close all cells, reusing already allocated arrays.
+     */
+    public void reset() {
+        field.reset();
+        if (full != null) {
+            full.reset();
         }
+
+        isPercolates = false;
+        openedCount = 0;
     }
 
     /**
@@ -49,49 +79,189 @@ public class Percolation {
      *   @param col the integer representing column number of cell
      *
      *   @throws IndexOutOfBoundsException unless
-     *         both {@code 0 < row < width} and {@code 0 < col < width}
-
+     *         both {@code 0 < row <= height} and {@code 0 < col <= width}
+     *   @throws UnsupportedOperationException unless field is rectangular
      */
     public void open(int row, int col) {
-        validate(row, col);
-        int current = coordsToIndex(row, col);
-        if ((status[current] & OPEN) == 1) {
-            return;
-        }
+        openSite(coordsToIndex(row, col));
+    }
 
-        byte stat = 0;
-        for (int i = 0; i < DIRS_LENGTH; i++) {
-            int neighRow = row + DIRS[i][0];
-            int neighCol = col + DIRS[i][1];
-            if (neighRow > 0 && neighRow <= width && neighCol > 0 && neighCol <= width) {
-                int neighbour = coordsToIndex(neighRow, neighCol);
-                if ((status[neighbour] & OPEN) == 1) {
-                    int root = field.find(neighbour);
-                    stat |= status[root];
-                    field.union(current, neighbour);
-                }
-            }
+    /**
+     *   Open cell given by 0-based linear index of lattice,
+     *   {@code (row - 1) * width + col - 1} for rectangular field.
+     *
+     *   @param site the integer representing linear index of cell
+     *
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= site < lattice.sites()}
+     */
+    public void openSite(int site) {
+        if (field.isOpen(site)) {
+            return;
         }
 
-        if (row == 1) {
+        int stat = 0;
+        if (lattice.onTop(site)) {
             stat |= CONNECTED_TO_TOP;
         }
 
-        if (row == width) {
+        if (lattice.onBottom(site)) {
             stat |= CONNECTED_TO_BOTTOM;
         }
 
-        stat |= OPEN;
-        status[current] = stat;
-        status[field.find(current)] |= stat;
+        field.open(site, stat);
+        int root;
+        if (full == null) {
+            root = site;
+            int degree = lattice.neighbours(site, neighbours);
+            for (int i = 0; i < degree; i++) {
+                int neighbour = neighbours[i];
+                if (field.isOpen(neighbour)) {
+                    root = field.union(root, field.find(neighbour));
+                }
+            }
+        } else {
+            root = connectTracked(site, stat);
+        }
 
-        if ((stat & CONNECTED_BOTH) == CONNECTED_BOTH) {
+        if ((field.flags(root) & CONNECTED_BOTH) == CONNECTED_BOTH) {
             isPercolates = true;
         }
 
         openedCount++;
     }
 
+    /**
+     *   Connect opened cell to open neighbours keeping bitmap of full cells.
+     *   Components which get connected to top are marked before merging,
+     *   so already full cells are never walked again.
+     *
+     *   @param site the integer representing linear index of opened cell
+     *   @param stat the status flags of opened cell
+     *   @return root of merged component
+     */
+    private int connectTracked(int site, int stat) {
+        int degree = lattice.neighbours(site, neighbours);
+        int merged = stat;
+        for (int i = 0; i < degree; i++) {
+            int neighbour = neighbours[i];
+            if (field.isOpen(neighbour)) {
+                neighbours[i] = field.find(neighbour);
+                merged |= field.flags(neighbours[i]);
+            } else {
+                neighbours[i] = -1;
+            }
+        }
+
+        if ((merged & CONNECTED_TO_TOP) != 0) {
+            full.mark(site);
+            for (int i = 0; i < degree; i++) {
+                if (neighbours[i] >= 0 && (field.flags(neighbours[i]) & CONNECTED_TO_TOP) == 0) {
+                    full.fill(neighbours[i]);
+                }
+            }
+        }
+
+        int root = site;
+        for (int i = 0; i < degree; i++) {
+            if (neighbours[i] >= 0) {
+                int neighbourRoot = field.find(neighbours[i]);
+                if (neighbourRoot != root) {
+                    full.link(root, neighbourRoot);
+                    root = field.union(root, neighbourRoot);
+                }
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     *   Start maintaining bitmap of full cells on every open, so that
+     *   checking cell for fullness is a single bit read. Costs one int
+     *   and one bit per cell. Does nothing if already tracking.
+     */
+    public void trackFullSites() {
+        if (full != null) {
+            return;
+        }
+
+        full = new FullSites(lattice.sites());
+        for (int site = 0; site < lattice.sites(); site++) {
+            if (field.isOpen(site)) {
+                int root = field.find(site);
+                if (root != site) {
+                    full.link(site, root);
+                }
+
+                if ((field.flags(root) & CONNECTED_TO_TOP) != 0) {
+                    full.mark(site);
+                }
+            }
+        }
+    }
+
+    /**
+     *   Gets the live bitmap of full cells, bit {@code site & 63} of word
+     *   {@code site >>> 6} is set if cell is full, as in
+     *   {@link java.util.BitSet#valueOf(long[])}. Starts tracking if needed.
+     *   Array is updated in place by later opens and must not be modified.
+     *
+     *   @return the bitmap of full cells
+     */
+    public long[] fullSites() {
+        trackFullSites();
+        return full.words();
+    }
+
+    /**
+     *   Open cells given by 0-based linear indices in
+     *   {@code siteIndices[from]} .. {@code siteIndices[to - 1]}.
+     *
+     *   @param siteIndices the array of linear indices of cells
+     *   @param from the first position in array, inclusive
+     *   @param to the last position in array, exclusive
+     *
+     *   @throws IndexOutOfBoundsException if range is out of array
+     *         or any index is out of field, cells before it stay open
+     */
+    public void openAll(int[] siteIndices, int from, int to) {
+        checkRange(siteIndices, from, to);
+        for (int i = from; i < to; i++) {
+            openSite(siteIndices[i]);
+        }
+    }
+
+    /**
+     *   Open cells given by 0-based linear indices in
+     *   {@code siteIndices[from]} .. {@code siteIndices[to - 1]}
+     *   until system percolates.
+     *
+     *   @param siteIndices the array of linear indices of cells
+     *   @param from the first position in array, inclusive
+     *   @param to the last position in array, exclusive
+     *
+     *   @return position in array of cell which opening made system percolate,
+     *         {@code -1} if system does not percolate after opening whole range
+     *   @throws IllegalStateException if system already percolates
+     *   @throws IndexOutOfBoundsException if range is out of array
+     *         or any opened index is out of field
+     */
+    public int openUntilPercolates(int[] siteIndices, int from, int to) {
+        if (isPercolates) {
+            throw new IllegalStateException("System already percolates");
+        }
+
+        checkRange(siteIndices, from, to);
+        for (int i = from; i < to; i++) {
+            openSite(siteIndices[i]);
+            if (isPercolates) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      *   Check if cell is open.
      *
@@ -100,12 +270,23 @@ public class Percolation {
      *
      *   @return {@code true} if cell is open, otherwise {@code false}
      *   @throws IndexOutOfBoundsException unless
-     *         both {@code 0 < row < width} and {@code 0 < col < width}
-
+     *         both {@code 0 < row <= height} and {@code 0 < col <= width}
+     *   @throws UnsupportedOperationException unless field is rectangular
      */
     public boolean isOpen(int row, int col) {
-        validate(row, col);
-        return (status[coordsToIndex(row, col)] & OPEN) == 1;
+        return field.isOpen(coordsToIndex(row, col));
+    }
+
+    /**
+     *   Check if cell given by linear index is open.
+     *
+     *   @param site the integer representing linear index of cell
+     *
+     *   @return {@code true} if cell is open, otherwise {@code false}
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= site < lattice.sites()}
+     */
+    public boolean isOpenSite(int site) {
+        return field.isOpen(site);
     }
 
     /**
@@ -116,12 +297,28 @@ public class Percolation {
      *
      *   @return {@code true} if cell is full, otherwise {@code false}
      *   @throws IndexOutOfBoundsException unless
-     *         both {@code 0 < row < width} and {@code 0 < col < width}
+     *         both {@code 0 < row <= height} and {@code 0 < col <= width}
+     *   @throws UnsupportedOperationException unless field is rectangular
      */
     public boolean isFull(int row, int col) {
-        validate(row, col);
-        int root = field.find(coordsToIndex(row, col));
-        return (status[root] & CONNECTED_TO_TOP) == CONNECTED_TO_TOP;
+        return isFullSite(coordsToIndex(row, col));
+    }
+
+    /**
+     *   Check if cell given by linear index is full.
+     *
+     *   @param site the integer representing linear index of cell
+     *
+     *   @return {@code true} if cell is full, otherwise {@code false}
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= site < lattice.sites()}
+     */
+    public boolean isFullSite(int site) {
+        if (full != null) {
+            return full.isFull(site);
+        }
+
+        int root = field.find(site);
+        return (field.flags(root) & CONNECTED_TO_TOP) == CONNECTED_TO_TOP;
     }
 
     /**
@@ -142,33 +339,72 @@ public class Percolation {
         return isPercolates;
     }
 
+    /**
+     *   Find root of component containing cell.
+     *
+     *   @param site the integer representing linear index of cell
+     *   @return linear index of root, the same for all cells of component
+     */
+    int root(int site) {
+        return field.find(site);
+    }
+
+    /**
+     *   Gets the shape of field
+     *
+     *   @return {@code lattice}
+     */
+    public Lattice lattice() {
+        return lattice;
+    }
+
     /**
      *   Convert 2D representation to 1d representation
      *
      *   @param row the integer representing row number of cell
      *   @param col the integer representing column number of cell
      *   @return 1D representation index of cell
+     *
+     *   @throws IndexOutOfBoundsException unless
+     *         both {@code 0 < row <= height} and {@code 0 < col <= width}
+     *   @throws UnsupportedOperationException unless field is rectangular
      */
     private int coordsToIndex(int row, int col) {
-        return (row - 1) * width + col - 1;
+        if (grid == null) {
+            throw new UnsupportedOperationException("Field is not rectangular, use linear index");
+        }
+
+        return grid.site(row, col);
     }
 
     /**
-     *   Check if row and col are valid.
+     *   Check if width of square field is valid.
      *
-     *   @param row the integer representing row number of cell
-     *   @param col the integer representing column number of cell
+     *   @param n the integer representing of width of field
+     *   @return {@code n}
      *
-     *   @throws IndexOutOfBoundsException unless
-     *         both {@code 0 < row < width} and {@code 0 < col < width}
+     *   @throws IllegalArgumentException unless {@code n > 0}
      */
-    private void validate(int row, int col) {
-        if (row <= 0 || row > width) {
-            throw new IndexOutOfBoundsException("row index i out of bounds");
+    private static int checkWidth(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("N should be more than 1");
         }
 
-        if (col <= 0 || col > width) {
-            throw new IndexOutOfBoundsException("col index i out of bounds");
+        return n;
+    }
+
+    /**
+     *   Check if range of array is valid.
+     *
+     *   @param array the array
+     *   @param from the first position in array, inclusive
+     *   @param to the last position in array, exclusive
+     *
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= from <= to <= array.length}
+     */
+    private static void checkRange(int[] array, int from, int to) {
+        if (from < 0 || from > to || to > array.length) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + to + ") out of bounds");
         }
     }
 
@@ -179,5 +415,16 @@ public class Percolation {
         testField.open(3, 1);
         testField.open(4, 1);
         System.out.println("Field is percolated: " + testField.percolates());
+
+        Percolation replayField = new Percolation(4);
+        int[] order = {5, 0, 15, 4, 8, 12, 9};
+        System.out.println("Percolates at position: " + replayField.openUntilPercolates(order, 0, order.length));
+
+        Percolation cube = new Percolation(new CubicLattice(3));
+        for (int site = 0; site < 27; site += 9) {
+            cube.openSite(site);
+        }
+
+        System.out.println("Cube is percolated: " + cube.percolates());
     }
 }
@@ -0,0 +1,222 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Open-ended Monte Carlo campaign of percolation trials.
+ *  Workers accumulate thresholds in batches and publish them into
+ *  shared streaming statistics, which can be read while trials are
+ *  in flight. Campaign stops when the half-width of 95% confidence
+ *  interval drops below the target or the trial budget is spent.
+ *----------------------------------------------------------------*/
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public class PercolationCampaign {
+    private static final int TRIALS_PER_BATCH = 64;   //  trials between publications of worker
+    private static final int MIN_TRIALS = 30;         //  trials needed before stopping by target
+    private final Lattice lattice;                    //  shape of experimental field
+    private final RunningStats stats;                 //  statistics of published trials
+    private long budget;                              //  trials left to hand out in current run
+    private boolean stopped;                          //  true if current run should stop
+
+    /**
+     *   Class constructor specifying width of field.
+     *
+     *   @param n the integer representing of width of field
+     *
+     *   @throws IllegalArgumentException unless {@code n > 0}
+     */
+    public PercolationCampaign(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("N should be more than 1");
+        }
+
+        lattice = new RectangularLattice(n, n);
+        stats = new RunningStats();
+    }
+
+    /**
+     *   Class constructor specifying shape of field.
+     *
+     *   @param lattice the shape of field
+     */
+    public PercolationCampaign(Lattice lattice) {
+        this.lattice = lattice;
+        stats = new RunningStats();
+    }
+
+    /**
+     *   Run trials until the half-width of 95% confidence interval is
+     *   at most {@code halfWidth} or {@code maxTrials} more trials were
+     *   performed. Statistics are kept between runs, so a campaign can
+     *   be resumed. Every worker draws from its own stream split off
+     *   the generator seeded with {@code seed}.
+     *
+     *   @param seed the seed of random generator
+     *   @param parallelism the integer representing of number of worker threads
+     *   @param halfWidth the target half-width of confidence interval
+     *   @param maxTrials the maximal number of trials of this run
+     *
+     *   @throws IllegalArgumentException unless
+     *      {@code parallelism > 0}, {@code halfWidth >= 0} and {@code maxTrials > 0}
+     *   @throws InterruptedException if interrupted while waiting for workers
+     */
+    public void run(long seed, int parallelism, double halfWidth, long maxTrials)
+            throws InterruptedException {
+        run(new SplittableRandom(seed), parallelism, halfWidth, maxTrials);
+    }
+
+    /**
+     *   Run trials as {@link #run(long, int, double, long)} does, every
+     *   worker drawing from its own stream split off {@code generator}.
+     *
+     *   @param generator the generator to split streams of workers off
+     *   @param parallelism the integer representing of number of worker threads
+     *   @param halfWidth the target half-width of confidence interval
+     *   @param maxTrials the maximal number of trials of this run
+     *
+     *   @throws IllegalArgumentException unless
+     *      {@code parallelism > 0}, {@code halfWidth >= 0} and {@code maxTrials > 0}
+     *   @throws InterruptedException if interrupted while waiting for workers
+     */
+    public void run(RandomGenerator.SplittableGenerator generator, int parallelism, double halfWidth,
+                    long maxTrials) throws InterruptedException {
+        if (parallelism <= 0 || maxTrials <= 0 || !(halfWidth >= 0)) {
+            throw new IllegalArgumentException("Invalid campaign parameters");
+        }
+
+        synchronized (this) {
+            budget = maxTrials;
+            stopped = false;
+        }
+
+        Thread[] workers = new Thread[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Thread(new Worker(generator.split(), halfWidth));
+            workers[i].start();
+        }
+
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    /**
+     *   Ask running workers to stop after their current batch.
+     */
+    public synchronized void stop() {
+        stopped = true;
+    }
+
+    /**
+     *   Gets the copy of statistics of all published trials
+     *
+     *   @return the snapshot of running statistics
+     */
+    public synchronized RunningStats snapshot() {
+        return stats.copy();
+    }
+
+    /**
+     *   Gets the quantity of published trials
+     *
+     *   @return the quantity of trials
+     */
+    public synchronized long trials() {
+        return stats.count();
+    }
+
+    /**
+     *   Gets the running mean of percolation thresholds
+     *
+     *   @return the running mean
+     */
+    public synchronized double mean() {
+        return stats.mean();
+    }
+
+    /**
+     *   Gets the running low  endpoint of 95% confidence interval
+     *
+     *   @return the low endpoint
+     */
+    public synchronized double confidenceLo() {
+        return stats.confidenceLo();
+    }
+
+    /**
+     *   Gets the running high endpoint of 95% confidence interval
+     *
+     *   @return the high endpoint
+     */
+    public synchronized double confidenceHi() {
+        return stats.confidenceHi();
+    }
+
+    /**
+     *   Merge batch of worker and hand out next one.
+     *
+     *   @param batch the statistics of finished batch
+     *   @param halfWidth the target half-width of confidence interval
+     *   @return the size of next batch, {@code 0} if worker should stop
+     */
+    private synchronized int publish(RunningStats batch, double halfWidth) {
+        stats.merge(batch);
+        if (stats.count() >= MIN_TRIALS && stats.halfWidth() <= halfWidth) {
+            stopped = true;
+        }
+
+        if (stopped || budget == 0) {
+            return 0;
+        }
+
+        int size = (int) Math.min(TRIALS_PER_BATCH, budget);
+        budget -= size;
+        return size;
+    }
+
+    private class Worker implements Runnable {
+        private final RandomGenerator random;    //  random stream of worker
+        private final double halfWidth;          //  target half-width of confidence interval
+
+        Worker(RandomGenerator random, double halfWidth) {
+            this.random = random;
+            this.halfWidth = halfWidth;
+        }
+
+        @Override
+        public void run() {
+            RunningStats batch = new RunningStats();
+            PercolationTrial trial = null;
+            int size = publish(batch, halfWidth);
+            while (size > 0) {
+                if (trial == null) {
+                    trial = new PercolationTrial(lattice);
+                }
+
+                batch.reset();
+                for (int i = 0; i < size; i++) {
+                    batch.add(trial.run(random));
+                }
+
+                size = publish(batch, halfWidth);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        PercolationCampaign campaign = new PercolationCampaign(Integer.parseInt(args[0]));
+        campaign.run(Long.parseLong(args[1]), Integer.parseInt(args[2]),
+                Double.parseDouble(args[3]), Long.parseLong(args[4]));
+        System.out.println("trials                  = " + campaign.trials());
+        System.out.println("mean                    = " + campaign.mean());
+        System.out.println("95% confidence interval = " + campaign.confidenceLo() + ", " + campaign.confidenceHi());
+    }
+}
@@ -1,18 +1,25 @@
 /*----------------------------------------------------------------
  *  Author:        Vadim Babaev
  *  Written:       25.01.2017
- *  Last updated:  25.01.2017
+ *  Last updated:  18.10.2026
  *
  *  Implementation of PercolationStats class.
  *----------------------------------------------------------------*/
 
-import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
 
 public class PercolationStats {
-    private double[] percolationThresholds;  //  array holding results of experiments
-    private int width;                       //  width of experimental field
-    private int count;                       //  quantity of field cells
+    private static final int TRIALS_PER_TASK = 16;  //  trials run sequentially by one task
+    private Lattice lattice;                 //  shape of experimental field
+    private final ThreadLocal<PercolationTrial> runners = new ThreadLocal<PercolationTrial>() {
+        @Override
+        protected PercolationTrial initialValue() {
+            return new PercolationTrial(lattice);
+        }
+    };                                       //  trial reused by each thread
     private double meanVal;                  //  mean of percolation threshold
     private double stddevVal;                //  standard deviation of percolation threshold
     private double confLo;                   //  low  endpoint of 95% confidence interval
@@ -33,42 +40,151 @@ public class PercolationStats {
             throw new IllegalArgumentException("N should be more than 1");
         }
 
-        width = n;
-        count = n * n;
-        percolationThresholds = new double[trials];
+        lattice = new RectangularLattice(n, n);
+        RunningStats stats = new RunningStats();
+        PercolationTrial trial = new PercolationTrial(lattice);
         for (int i = 0; i < trials; i++) {
-            percolationThresholds[i] = trial();
+            stats.add(trial.run(null));
         }
 
-        meanVal   = StdStats.mean(percolationThresholds);
-        stddevVal = StdStats.stddev(percolationThresholds);
-        confLo    = meanVal - (1.96 * stddevVal / Math.sqrt(trials));
-        confHi    = meanVal + (1.96 * stddevVal / Math.sqrt(trials));
+        setStats(stats);
+    }
+
+    /**
+     *   Class constructor specifying width of field, number of trials,
+     *   seed of random generator and number of worker threads.
+     *   Trials are split into fixed blocks, each block gets its own
+     *   random stream split off the seeded generator, so results depend
+     *   only on {@code seed} and not on {@code parallelism}.
+     *
+     *   @param n the integer representing of width of field
+     *   @param trials the integer representing of number of experiments
+     *   @param seed the seed of random generator
+     *   @param parallelism the integer representing of number of worker threads
+     *
+     *   @throws IllegalArgumentException unless
+     *      {@code n > 0}, {@code trials > 0} and {@code parallelism > 0}
+     */
+    public PercolationStats(int n, int trials, long seed, int parallelism) {
+        this(square(n), trials, seed, parallelism);
+    }
+
+    /**
+     *   Class constructor specifying shape of field, number of trials,
+     *   seed of random generator and number of worker threads.
+     *   Results depend only on {@code seed} and not on {@code parallelism}.
+     *
+     *   @param lattice the shape of field
+     *   @param trials the integer representing of number of experiments
+     *   @param seed the seed of random generator
+     *   @param parallelism the integer representing of number of worker threads
+     *
+     *   @throws IllegalArgumentException unless
+     *      both {@code trials > 0} and {@code parallelism > 0}
+     */
+    public PercolationStats(Lattice lattice, int trials, long seed, int parallelism) {
+        this(lattice, trials, new SplittableRandom(seed), parallelism);
     }
 
     /**
-     *   Perform trial.
+     *   Class constructor specifying shape of field, number of trials,
+     *   random generator and number of worker threads. Blocks of trials
+     *   draw from streams split off {@code generator}, so any splittable
+     *   generator (SplittableRandom, L64X128MixRandom, ...) can be used and
+     *   results depend only on its state and not on {@code parallelism}.
+     *
+     *   @param lattice the shape of field
+     *   @param trials the integer representing of number of experiments
+     *   @param generator the generator to split streams off
+     *   @param parallelism the integer representing of number of worker threads
      *
-     *   @return percolation threshold
+     *   @throws IllegalArgumentException unless
+     *      both {@code trials > 0} and {@code parallelism > 0}
      */
-    private double trial() {
-        Percolation field = new Percolation(width);
-        int i = 0;
-        int row;
-        int col;
-        while (!field.percolates()) {
-            int rndField;
-            do {
-                rndField = StdRandom.uniform(count);
-                row = rndField / width + 1;
-                col = 1 + rndField % width;
-            } while (field.isOpen(row, col));
-
-            field.open(row, col);
-            i++;
+    public PercolationStats(Lattice lattice, int trials, RandomGenerator.SplittableGenerator generator,
+                            int parallelism) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trials should be positive");
+        }
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism should be positive");
         }
 
-        return ((double) i)/count;
+        this.lattice = lattice;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            setStats(pool.invoke(new TrialTask(0, trials, generator)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     *   Create square field checking its width.
+     *
+     *   @param n the integer representing of width of field
+     *   @return the shape of field
+     *
+     *   @throws IllegalArgumentException unless {@code n > 0}
+     */
+    private static Lattice square(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("N should be more than 1");
+        }
+
+        return new RectangularLattice(n, n);
+    }
+
+    /**
+     *   Store statistics of percolation thresholds.
+     *
+     *   @param stats the statistics of all performed trials
+     */
+    private void setStats(RunningStats stats) {
+        meanVal   = stats.mean();
+        stddevVal = stats.stddev();
+        confLo    = stats.confidenceLo();
+        confHi    = stats.confidenceHi();
+    }
+
+    /**
+     *   Task performing range of trials. Ranges are halved down to
+     *   {@code TRIALS_PER_TASK}, the left half always takes split stream,
+     *   so every block gets the same stream and results are merged in
+     *   the same order for any number of threads.
+     */
+    private class TrialTask extends RecursiveTask<RunningStats> {
+        private final int lo;                    //  first trial of range
+        private final int hi;                    //  trial after the last one of range
+        private final RandomGenerator.SplittableGenerator random;   //  random stream of range
+
+        TrialTask(int lo, int hi, RandomGenerator.SplittableGenerator random) {
+            this.lo = lo;
+            this.hi = hi;
+            this.random = random;
+        }
+
+        @Override
+        protected RunningStats compute() {
+            if (hi - lo <= TRIALS_PER_TASK) {
+                RunningStats stats = new RunningStats();
+                PercolationTrial trial = runners.get();
+                for (int i = lo; i < hi; i++) {
+                    stats.add(trial.run(random));
+                }
+
+                return stats;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            TrialTask left = new TrialTask(lo, mid, random.split());
+            TrialTask right = new TrialTask(mid, hi, random);
+            right.fork();
+            RunningStats stats = left.compute();
+            stats.merge(right.join());
+            return stats;
+        }
     }
 
     /**
@@ -108,7 +224,14 @@ public class PercolationStats {
     }
 
     public static void main(String[] args) {
-        PercolationStats perc = new PercolationStats(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        PercolationStats perc;
+        if (args.length >= 4) {
+            perc = new PercolationStats(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                    Long.parseLong(args[2]), Integer.parseInt(args[3]));
+        } else {
+            perc = new PercolationStats(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        }
+
         System.out.println("args                    = " + args[0] + ", " + args[1]);
         System.out.println("mean                    = " + perc.mean());
         System.out.println("stddev                  = " + perc.stddev());
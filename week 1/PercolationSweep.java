@@ -0,0 +1,264 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Newman-Ziff sweep. Every trial opens all sites in one random
+ *  order and records observables after each opened site, so one
+ *  pass gives spanning probability and largest cluster size for
+ *  every number of open sites. Values for occupation probability p
+ *  are obtained by convolution with binomial distribution.
+ *----------------------------------------------------------------*/
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public class PercolationSweep {
+    private static final double NEGLIGIBLE_WEIGHT = 1e-15;  //  binomial weights below are dropped
+    private final int count;                 //  quantity of field cells
+    private final int trials;                //  quantity of sweeps
+    private final double[] spanning;         //  fraction of sweeps percolating with k open cells
+    private final double[] largest;          //  mean size of largest cluster with k open cells
+    private final RunningStats thresholds;   //  statistics of percolation thresholds
+
+    /**
+     *   Class constructor specifying width of square field,
+     *   number of sweeps and seed of random generator.
+     *
+     *   @param n the integer representing of width of field
+     *   @param trials the integer representing of number of sweeps
+     *   @param seed the seed of random generator
+     *
+     *   @throws IllegalArgumentException unless
+     *      both {@code n > 0} and {@code trials > 0}
+     */
+    public PercolationSweep(int n, int trials, long seed) {
+        this(new RectangularLattice(n, n), trials, seed);
+    }
+
+    /**
+     *   Class constructor specifying shape of field,
+     *   number of sweeps and seed of random generator.
+     *
+     *   @param lattice the shape of field
+     *   @param trials the integer representing of number of sweeps
+     *   @param seed the seed of random generator
+     *
+     *   @throws IllegalArgumentException unless {@code trials > 0}
+     */
+    public PercolationSweep(Lattice lattice, int trials, long seed) {
+        this(lattice, trials, new SplittableRandom(seed));
+    }
+
+    /**
+     *   Class constructor specifying shape of field,
+     *   number of sweeps and random generator.
+     *
+     *   @param lattice the shape of field
+     *   @param trials the integer representing of number of sweeps
+     *   @param random the random stream of sweeps
+     *
+     *   @throws IllegalArgumentException unless {@code trials > 0}
+     */
+    public PercolationSweep(Lattice lattice, int trials, RandomGenerator random) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trials should be positive");
+        }
+
+        this.count = lattice.sites();
+        this.trials = trials;
+        this.thresholds = new RunningStats();
+        long[] firstSpanning = new long[count + 1];
+        long[] largestSum = new long[count + 1];
+        Percolation field = new Percolation(lattice);
+        int[] sites = new int[count];
+        int[] sizes = new int[count];
+        int[] roots = new int[lattice.maxDegree()];
+        for (int t = 0; t < trials; t++) {
+            field.reset();
+            for (int i = 0; i < count; i++) {
+                sites[i] = i;
+            }
+
+            int maxSize = 0;
+            boolean spans = false;
+            for (int i = 0; i < count; i++) {
+                int j = i + PercolationTrial.uniform(random, count - i);
+                int site = sites[j];
+                sites[j] = sites[i];
+                sites[i] = site;
+
+                int size = 1;
+                int degree = lattice.neighbours(site, roots);
+                for (int d = 0; d < degree; d++) {
+                    int root = field.isOpenSite(roots[d]) ? field.root(roots[d]) : -1;
+                    roots[d] = root;
+                    for (int e = 0; e < d && root >= 0; e++) {
+                        if (roots[e] == root) {
+                            root = -1;
+                        }
+                    }
+
+                    if (root >= 0) {
+                        size += sizes[root];
+                    }
+                }
+
+                field.openSite(site);
+                sizes[field.root(site)] = size;
+                if (size > maxSize) {
+                    maxSize = size;
+                }
+
+                largestSum[i + 1] += maxSize;
+                if (!spans && field.percolates()) {
+                    spans = true;
+                    firstSpanning[i + 1]++;
+                    thresholds.add(((double) (i + 1))/count);
+                }
+            }
+        }
+
+        spanning = new double[count + 1];
+        largest = new double[count + 1];
+        long spanningSum = 0;
+        for (int k = 0; k <= count; k++) {
+            spanningSum += firstSpanning[k];
+            spanning[k] = ((double) spanningSum)/trials;
+            largest[k] = ((double) largestSum[k])/trials;
+        }
+    }
+
+    /**
+     *   Gets the number of cells of field
+     *
+     *   @return {@code count}
+     */
+    public int sites() {
+        return count;
+    }
+
+    /**
+     *   Gets the number of performed sweeps
+     *
+     *   @return {@code trials}
+     */
+    public int trials() {
+        return trials;
+    }
+
+    /**
+     *   Gets the fraction of sweeps which percolated with k open cells
+     *
+     *   @param k the number of open cells
+     *   @return the spanning probability
+     *
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= k <= sites()}
+     */
+    public double spanningProbability(int k) {
+        return spanning[k];
+    }
+
+    /**
+     *   Gets the mean size of largest cluster with k open cells
+     *
+     *   @param k the number of open cells
+     *   @return the mean size of largest cluster
+     *
+     *   @throws IndexOutOfBoundsException unless {@code 0 <= k <= sites()}
+     */
+    public double largestCluster(int k) {
+        return largest[k];
+    }
+
+    /**
+     *   Gets the spanning probability when every cell is open
+     *   independently with probability p
+     *
+     *   @param p the occupation probability
+     *   @return the spanning probability
+     *
+     *   @throws IllegalArgumentException unless {@code 0 <= p <= 1}
+     */
+    public double spanningProbabilityAt(double p) {
+        return convolve(spanning, p);
+    }
+
+    /**
+     *   Gets the mean fraction of cells in largest cluster when every
+     *   cell is open independently with probability p
+     *
+     *   @param p the occupation probability
+     *   @return the fraction of cells in largest cluster
+     *
+     *   @throws IllegalArgumentException unless {@code 0 <= p <= 1}
+     */
+    public double largestClusterFractionAt(double p) {
+        return convolve(largest, p) / count;
+    }
+
+    /**
+     *   Gets the statistics of percolation thresholds of all sweeps
+     *
+     *   @return the copy of threshold statistics
+     */
+    public RunningStats thresholds() {
+        return thresholds.copy();
+    }
+
+    /**
+     *   Average observable over binomial distribution of open cells.
+     *   Weights are computed by ratios going both ways from the mode
+     *   and normalized, which avoids huge binomial coefficients.
+     *
+     *   @param values the observable for every number of open cells
+     *   @param p the occupation probability
+     *   @return the averaged observable
+     *
+     *   @throws IllegalArgumentException unless {@code 0 <= p <= 1}
+     */
+    private double convolve(double[] values, double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Probability should be in [0, 1]");
+        }
+
+        if (p == 0) {
+            return values[0];
+        }
+
+        if (p == 1) {
+            return values[count];
+        }
+
+        int mode = (int) Math.min(count, Math.floor((count + 1) * p));
+        double odds = p / (1 - p);
+        double totalWeight = 1;
+        double sum = values[mode];
+        double weight = 1;
+        for (int k = mode; k < count && weight > NEGLIGIBLE_WEIGHT; k++) {
+            weight *= odds * (count - k) / (k + 1);
+            totalWeight += weight;
+            sum += weight * values[k + 1];
+        }
+
+        weight = 1;
+        for (int k = mode; k > 0 && weight > NEGLIGIBLE_WEIGHT; k--) {
+            weight *= k / (odds * (count - k + 1));
+            totalWeight += weight;
+            sum += weight * values[k - 1];
+        }
+
+        return sum / totalWeight;
+    }
+
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        PercolationSweep sweep = new PercolationSweep(n, Integer.parseInt(args[1]), Long.parseLong(args[2]));
+        System.out.println("mean threshold          = " + sweep.thresholds().mean());
+        for (int i = 50; i <= 70; i++) {
+            double p = i / 100.0;
+            System.out.println("p = " + p + ": spanning = " + sweep.spanningProbabilityAt(p)
+                    + ", largest cluster = " + sweep.largestClusterFractionAt(p));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Reusable percolation trial. Sites are opened in uniformly random
+ *  order produced by incremental Fisher-Yates shuffle over array of
+ *  site indices, so every trial draws exactly one random number per
+ *  opened site and allocates no memory.
+ *----------------------------------------------------------------*/
+
+import edu.princeton.cs.algs4.StdRandom;
+import java.util.random.RandomGenerator;
+
+public class PercolationTrial {
+    private final Percolation field;   //  field reused by trials
+    private final int[] sites;         //  permutation of site indices, shuffled in place
+
+    /**
+     *   Class constructor specifying width of square field
+     *
+     *   @param n the integer representing of width of field
+     *
+     *   @throws IllegalArgumentException unless {@code n > 0}
+     */
+    public PercolationTrial(int n) {
+        this(new RectangularLattice(n, n));
+    }
+
+    /**
+     *   Class constructor specifying shape of field
+     *
+     *   @param lattice the shape of field
+     */
+    public PercolationTrial(Lattice lattice) {
+        field = new Percolation(lattice);
+        sites = new int[lattice.sites()];
+    }
+
+    /**
+     *   Perform trial. Shuffle always starts from identity order,
+     *   so result depends only on random stream.
+     *
+     *   @param random the random stream of trial, {@code null} for {@code StdRandom}
+     *   @return percolation threshold
+     */
+    public double run(RandomGenerator random) {
+        field.reset();
+        int count = sites.length;
+        for (int i = 0; i < count; i++) {
+            sites[i] = i;
+        }
+
+        int i = 0;
+        while (!field.percolates()) {
+            int bound = count - i;
+            int j = i + (random == null ? StdRandom.uniform(bound) : uniform(random, bound));
+            int site = sites[j];
+            sites[j] = sites[i];
+            sites[i] = site;
+            field.openSite(site);
+            i++;
+        }
+
+        return ((double) i)/count;
+    }
+
+    /**
+     *   Draw uniform integer in [0, bound) by Lemire's nearly divisionless
+     *   method: high half of 32 x 32 bit product is the result, remainder
+     *   is computed only when low half falls into the biased zone.
+     *
+     *   @param random the random stream
+     *   @param bound the positive upper bound, exclusive
+     *   @return the uniform integer
+     */
+    static int uniform(RandomGenerator random, int bound) {
+        long product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+        int low = (int) product;
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+}
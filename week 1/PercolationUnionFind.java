@@ -0,0 +1,122 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Union-find over percolation sites packed into single int array.
+ *  Non-negative word is parent link of open non-root site. Negative
+ *  word is complement of root data: status flags in low bits and
+ *  rank above them. Closed site is root with no flags, so resetting
+ *  is a single fill. Uses union by rank and path halving.
+ *----------------------------------------------------------------*/
+
+import java.util.Arrays;
+
+final class PercolationUnionFind {
+    static final int OPEN = 1;                        //  flag of open site
+    static final int FLAGS_MASK = 7;                  //  status flags, OPEN and two caller flags
+    private static final int RANK_SHIFT = 3;          //  position of rank in root data
+    private static final int CLOSED = ~0;             //  word of closed site
+    private final int[] words;                        //  parent links or complemented root data
+
+    /**
+     *   Class constructor specifying number of sites
+     *
+     *   @param count the integer representing of number of sites
+     */
+    PercolationUnionFind(int count) {
+        words = new int[count];
+        reset();
+    }
+
+    /**
+     *   Close all sites.
+     */
+    void reset() {
+        Arrays.fill(words, CLOSED);
+    }
+
+    /**
+     *   Check if site is open.
+     *
+     *   @param p the index of site
+     *   @return {@code true} if site is open, otherwise {@code false}
+     */
+    boolean isOpen(int p) {
+        int word = words[p];
+        return word >= 0 || (~word & OPEN) != 0;
+    }
+
+    /**
+     *   Open closed site as singleton component.
+     *
+     *   @param p the index of closed site
+     *   @param flags the status flags of site, {@code OPEN} is added
+     */
+    void open(int p, int flags) {
+        words[p] = ~(flags | OPEN);
+    }
+
+    /**
+     *   Find root of component containing site, halving the path.
+     *
+     *   @param p the index of site
+     *   @return the index of root
+     */
+    int find(int p) {
+        int parent;
+        while ((parent = words[p]) >= 0) {
+            int grand = words[parent];
+            if (grand < 0) {
+                return parent;
+            }
+
+            words[p] = grand;
+            p = grand;
+        }
+
+        return p;
+    }
+
+    /**
+     *   Gets status flags of component.
+     *
+     *   @param root the index of root
+     *   @return the flags of component
+     */
+    int flags(int root) {
+        return ~words[root] & FLAGS_MASK;
+    }
+
+    /**
+     *   Merge two components, the lower ranked root goes under the other one.
+     *
+     *   @param rootP the index of first root
+     *   @param rootQ the index of second root
+     *   @return the index of root of merged component
+     */
+    int union(int rootP, int rootQ) {
+        if (rootP == rootQ) {
+            return rootP;
+        }
+
+        int dataP = ~words[rootP];
+        int dataQ = ~words[rootQ];
+        int rankP = dataP >>> RANK_SHIFT;
+        int rankQ = dataQ >>> RANK_SHIFT;
+        int flags = (dataP | dataQ) & FLAGS_MASK;
+        if (rankP < rankQ) {
+            words[rootP] = rootQ;
+            words[rootQ] = ~(dataQ | flags);
+            return rootQ;
+        }
+
+        if (rankP == rankQ) {
+            rankP++;
+        }
+
+        words[rootQ] = rootP;
+        words[rootP] = ~((rankP << RANK_SHIFT) | flags);
+        return rootP;
+    }
+}
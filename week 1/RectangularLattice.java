@@ -0,0 +1,117 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Rectangular lattice of width x height sites with 4 neighbours.
+ *  Site in row r and column c (both 1-based) has index
+ *  (r - 1) * width + c - 1, top boundary is the first row.
+ *----------------------------------------------------------------*/
+
+public class RectangularLattice extends Lattice {
+    private final int width;    //  number of columns
+    private final int height;   //  number of rows
+    private final int count;    //  number of sites
+
+    /**
+     *   Class constructor specifying size of lattice
+     *
+     *   @param width the integer representing of number of columns
+     *   @param height the integer representing of number of rows
+     *
+     *   @throws IllegalArgumentException unless
+     *      both {@code width > 0} and {@code height > 0}
+     */
+    public RectangularLattice(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height should be positive");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.count = Math.multiplyExact(width, height);
+    }
+
+    /**
+     *   Gets the number of columns
+     *
+     *   @return {@code width}
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     *   Gets the number of rows
+     *
+     *   @return {@code height}
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     *   Convert 2D representation to 1d representation
+     *
+     *   @param row the integer representing row number of cell
+     *   @param col the integer representing column number of cell
+     *   @return 1D representation index of cell
+     *
+     *   @throws IndexOutOfBoundsException unless
+     *         both {@code 0 < row <= height} and {@code 0 < col <= width}
+     */
+    public int site(int row, int col) {
+        if (row <= 0 || row > height) {
+            throw new IndexOutOfBoundsException("row index i out of bounds");
+        }
+
+        if (col <= 0 || col > width) {
+            throw new IndexOutOfBoundsException("col index i out of bounds");
+        }
+
+        return (row - 1) * width + col - 1;
+    }
+
+    @Override
+    public int sites() {
+        return count;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 4;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int col = site % width;
+        int n = 0;
+        if (site >= width) {
+            out[n++] = site - width;
+        }
+
+        if (site < count - width) {
+            out[n++] = site + width;
+        }
+
+        if (col > 0) {
+            out[n++] = site - 1;
+        }
+
+        if (col < width - 1) {
+            out[n++] = site + 1;
+        }
+
+        return n;
+    }
+
+    @Override
+    public boolean onTop(int site) {
+        return site < width;
+    }
+
+    @Override
+    public boolean onBottom(int site) {
+        return site >= count - width;
+    }
+}
@@ -0,0 +1,126 @@
+/*----------------------------------------------------------------
+ *  Author:        Vadim Babaev
+ *  Written:       18.10.2026
+ *  Last updated:  18.10.2026
+ *
+ *  Streaming mean and variance of percolation thresholds
+ *  (Welford's algorithm). Uses O(1) memory and can be merged
+ *  with accumulators filled by other workers (Chan et al.).
+ *----------------------------------------------------------------*/
+
+public class RunningStats {
+    private static final double CONFIDENCE_95 = 1.96;
+    private long count;     //  quantity of added values
+    private double mean;    //  running mean of added values
+    private double m2;      //  sum of squared deviations from the running mean
+
+    /**
+     *   Add value to statistics.
+     *
+     *   @param value the value to add
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     *   Merge statistics of other accumulator into this one.
+     *
+     *   @param that the accumulator to merge
+     */
+    public void merge(RunningStats that) {
+        if (that.count == 0) {
+            return;
+        }
+
+        if (count == 0) {
+            count = that.count;
+            mean = that.mean;
+            m2 = that.m2;
+            return;
+        }
+
+        long total = count + that.count;
+        double delta = that.mean - mean;
+        mean += delta * that.count / total;
+        m2 += that.m2 + delta * delta * ((double) count * that.count / total);
+        count = total;
+    }
+
+    /**
+     *   Forget all added values.
+     */
+    public void reset() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    /**
+     *   Gets the quantity of added values
+     *
+     *   @return {@code count}
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     *   Gets the mean of added values
+     *
+     *   @return the mean, {@code NaN} if no values were added
+     */
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     *   Gets the sample standard deviation of added values
+     *
+     *   @return the standard deviation, {@code NaN} unless {@code count > 1}
+     */
+    public double stddev() {
+        return count <= 1 ? Double.NaN : Math.sqrt(m2 / (count - 1));
+    }
+
+    /**
+     *   Gets the half-width of 95% confidence interval of the mean
+     *
+     *   @return the half-width, {@code NaN} unless {@code count > 1}
+     */
+    public double halfWidth() {
+        return CONFIDENCE_95 * stddev() / Math.sqrt(count);
+    }
+
+    /**
+     *   Gets the low  endpoint of 95% confidence interval
+     *
+     *   @return the low endpoint
+     */
+    public double confidenceLo() {
+        return mean() - halfWidth();
+    }
+
+    /**
+     *   Gets the high endpoint of 95% confidence interval
+     *
+     *   @return the high endpoint
+     */
+    public double confidenceHi() {
+        return mean() + halfWidth();
+    }
+
+    /**
+     *   Copy current statistics.
+     *
+     *   @return the independent copy of this accumulator
+     */
+    public RunningStats copy() {
+        RunningStats copy = new RunningStats();
+        copy.merge(this);
+        return copy;
+    }
+}
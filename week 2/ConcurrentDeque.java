@@ -0,0 +1,293 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Thread-safe Deque for many producers and consumers. Backed by
+// ConcurrentLinkedDeque, which links nodes with CAS and never locks,
+// so threads working on either end do not block each other.
+public class ConcurrentDeque<Item> implements Iterable<Item> {
+    private final ConcurrentLinkedDeque<Item> items;
+
+    public ConcurrentDeque() {
+        items = new ConcurrentLinkedDeque<Item>();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    // traverses the deque, the result may be stale under concurrent updates
+    public int size() {
+        return items.size();
+    }
+
+    public void addFirst(Item item) {
+        checkNullItem(item);
+        items.addFirst(item);
+    }
+
+    public void addLast(Item item) {
+        checkNullItem(item);
+        items.addLast(item);
+    }
+
+    public boolean offerFirst(Item item) {
+        checkNullItem(item);
+        return items.offerFirst(item);
+    }
+
+    public boolean offerLast(Item item) {
+        checkNullItem(item);
+        return items.offerLast(item);
+    }
+
+    private void checkNullItem(Item i) {
+        if (i == null) {
+            throw new NullPointerException("Item is null");
+        }
+    }
+
+    public Item removeFirst() {
+        Item item = items.pollFirst();
+        if (item == null) {
+            throw new NoSuchElementException("Can't remove from empty Deque");
+        }
+
+        return item;
+    }
+
+    public Item removeLast() {
+        Item item = items.pollLast();
+        if (item == null) {
+            throw new NoSuchElementException("Can't remove from empty Deque");
+        }
+
+        return item;
+    }
+
+    // returns null if deque is empty
+    public Item pollFirst() {
+        return items.pollFirst();
+    }
+
+    // returns null if deque is empty
+    public Item pollLast() {
+        return items.pollLast();
+    }
+
+    // weakly consistent, reflects some state of deque since its creation
+    public Iterator<Item> iterator() {
+        return new ConcurrentDequeIterator();
+    }
+
+    private class ConcurrentDequeIterator implements Iterator<Item> {
+        private final Iterator<Item> current = items.iterator();
+
+        public boolean hasNext() {
+            return current.hasNext();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator is empty");
+            }
+
+            return current.next();
+        }
+    }
+
+    // Stress test. Small concurrent histories are checked for
+    // linearizability against sequential ArrayDeque by exhaustive
+    // search (Wing and Gong), large runs check that every item is
+    // removed exactly once.
+    public static void main(String[] args) throws InterruptedException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        for (int round = 0; round < rounds; round++) {
+            List<Operation> history = runHistory(round, 3, 4);
+            if (!linearizable(history, new boolean[history.size()], new ArrayDeque<Integer>())) {
+                throw new IllegalStateException("History is not linearizable: " + history);
+            }
+        }
+
+        System.out.println(rounds + " histories are linearizable");
+        System.out.println("removed " + conservationTest(8, 200000) + " items exactly once");
+    }
+
+    private static final int ADD_FIRST = 0;
+    private static final int ADD_LAST = 1;
+    private static final int POLL_FIRST = 2;
+    private static final int POLL_LAST = 3;
+
+    private static class Operation {
+        final int kind;
+        final int value;
+        Integer result;
+        long invoked;
+        long responded;
+
+        Operation(int kind, int value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        public String toString() {
+            return kind + "(" + value + ")=" + result + "@[" + invoked + ", " + responded + "]";
+        }
+    }
+
+    private static List<Operation> runHistory(int seed, int threads, int opsPerThread)
+            throws InterruptedException {
+        final ConcurrentDeque<Integer> deque = new ConcurrentDeque<Integer>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Operation> history = new ArrayList<Operation>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final Operation[] ops = new Operation[opsPerThread];
+            for (int i = 0; i < opsPerThread; i++) {
+                int kind = (seed * 31 + t * 7 + i * 13) % 4;
+                ops[i] = new Operation(kind, t * opsPerThread + i);
+                history.add(ops[i]);
+            }
+
+            workers[t] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    for (Operation op : ops) {
+                        op.invoked = System.nanoTime();
+                        switch (op.kind) {
+                            case ADD_FIRST: deque.addFirst(op.value); break;
+                            case ADD_LAST:  deque.addLast(op.value);  break;
+                            case POLL_FIRST: op.result = deque.pollFirst(); break;
+                            default:        op.result = deque.pollLast();  break;
+                        }
+                        op.responded = System.nanoTime();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        return history;
+    }
+
+    private static boolean linearizable(List<Operation> history, boolean[] done, ArrayDeque<Integer> model) {
+        boolean finished = true;
+        for (int i = 0; i < history.size(); i++) {
+            if (done[i]) {
+                continue;
+            }
+
+            finished = false;
+            Operation op = history.get(i);
+            if (!minimal(history, done, op)) {
+                continue;
+            }
+
+            ArrayDeque<Integer> next = model.clone();
+            Integer result = null;
+            switch (op.kind) {
+                case ADD_FIRST: next.addFirst(op.value); break;
+                case ADD_LAST:  next.addLast(op.value);  break;
+                case POLL_FIRST: result = next.pollFirst(); break;
+                default:        result = next.pollLast();  break;
+            }
+
+            if (result == null ? op.result != null : !result.equals(op.result)) {
+                continue;
+            }
+
+            done[i] = true;
+            if (linearizable(history, done, next)) {
+                return true;
+            }
+
+            done[i] = false;
+        }
+
+        return finished;
+    }
+
+    // op may be linearized next if no pending op responded before it was invoked
+    private static boolean minimal(List<Operation> history, boolean[] done, Operation op) {
+        for (int j = 0; j < history.size(); j++) {
+            if (!done[j] && history.get(j).responded < op.invoked) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long conservationTest(int threads, final int itemsPerThread) throws InterruptedException {
+        final ConcurrentDeque<Integer> deque = new ConcurrentDeque<Integer>();
+        final boolean[] seen = new boolean[threads * itemsPerThread];
+        final AtomicLong removed = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < itemsPerThread; i++) {
+                        int value = id * itemsPerThread + i;
+                        if ((i & 1) == 0) {
+                            deque.addFirst(value);
+                        } else {
+                            deque.offerLast(value);
+                        }
+
+                        Integer item = (i & 2) == 0 ? deque.pollFirst() : deque.pollLast();
+                        if (item != null) {
+                            markSeen(seen, item);
+                            removed.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        while (!deque.isEmpty()) {
+            markSeen(seen, deque.removeLast());
+            removed.incrementAndGet();
+        }
+
+        if (removed.get() != seen.length) {
+            throw new IllegalStateException("Lost items: " + (seen.length - removed.get()));
+        }
+
+        return removed.get();
+    }
+
+    private static void markSeen(boolean[] seen, int item) {
+        synchronized (seen) {
+            if (seen[item]) {
+                throw new IllegalStateException("Item removed twice: " + item);
+            }
+
+            seen[item] = true;
+        }
+    }
+}
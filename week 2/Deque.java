@@ -1,5 +1,7 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class Deque<Item> implements Iterable<Item> {
     private Node first;
@@ -104,6 +106,82 @@ public class Deque<Item> implements Iterable<Item> {
         return item;
     }
 
+    // adds src[off] .. src[off + len - 1] in order, nothing is added if any of them is null
+    public void addAllLast(Item[] src, int off, int len) {
+        checkRange(src.length, off, len);
+        if (len == 0) {
+            return;
+        }
+
+        for (int i = off; i < off + len; i++) {
+            checkNullItem(src[i]);
+        }
+
+        Node chainFirst = new Node(src[off], null, null);
+        Node chainLast = chainFirst;
+        for (int i = off + 1; i < off + len; i++) {
+            chainLast.next = new Node(src[i], null, chainLast);
+            chainLast = chainLast.next;
+        }
+
+        if (n == 0) {
+            first = chainFirst;
+        } else {
+            last.next = chainFirst;
+            chainFirst.previous = last;
+        }
+
+        last = chainLast;
+        n += len;
+    }
+
+    // removes up to max first items into dst[0] .. dst[max - 1], returns number of removed items
+    public int drainFirst(Item[] dst, int max) {
+        checkRange(dst.length, 0, max);
+        int count = Math.min(n, max);
+        Node current = first;
+        for (int i = 0; i < count; i++) {
+            dst[i] = current.item;
+            current = current.next;
+        }
+
+        first = current;
+        if (first == null) {
+            last = null;
+        } else {
+            first.previous = null;
+        }
+
+        n -= count;
+        return count;
+    }
+
+    // removes all items from first to last passing each to action, returns number of removed items
+    public int drainTo(Consumer<? super Item> action) {
+        int count = 0;
+        while (first != null) {
+            Item item = first.item;
+            first = first.next;
+            if (first == null) {
+                last = null;
+            } else {
+                first.previous = null;
+            }
+
+            n--;
+            count++;
+            action.accept(item);
+        }
+
+        return count;
+    }
+
+    private void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || len > length - off) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds");
+        }
+    }
+
     public Iterator<Item> iterator() {
         return new DequeIterator();
     }
@@ -130,6 +208,67 @@ public class Deque<Item> implements Iterable<Item> {
         }
     }
 
+    public Spliterator<Item> spliterator() {
+        return new DequeSpliterator(first, n);
+    }
+
+    // splits by walking to the middle of its part of the list, so the
+    // whole split tree costs O(n log(parts)) and every part knows its size
+    private class DequeSpliterator implements Spliterator<Item> {
+        private static final int MIN_SPLIT = 1024;
+        private Node current;
+        private int remaining;
+
+        public DequeSpliterator(Node start, int count) {
+            current = start;
+            remaining = count;
+        }
+
+        public boolean tryAdvance(Consumer<? super Item> action) {
+            if (remaining == 0) {
+                return false;
+            }
+
+            Item item = current.item;
+            current = current.next;
+            remaining--;
+            action.accept(item);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super Item> action) {
+            while (remaining > 0) {
+                Item item = current.item;
+                current = current.next;
+                remaining--;
+                action.accept(item);
+            }
+        }
+
+        public Spliterator<Item> trySplit() {
+            if (remaining < 2 * MIN_SPLIT) {
+                return null;
+            }
+
+            int half = remaining / 2;
+            DequeSpliterator prefix = new DequeSpliterator(current, half);
+            for (int i = 0; i < half; i++) {
+                current = current.next;
+            }
+
+            remaining -= half;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("Deq main");
     }
@@ -0,0 +1,134 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+public class DoubleDeque {
+    private static final int MIN_CAPACITY = 8;
+    private double[] items;
+    private int head;
+    private int n;
+
+    public DoubleDeque() {
+        items = new double[MIN_CAPACITY];
+        head = 0;
+        n = 0;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // capacity is always a power of two, so index wraps with a mask
+    private int index(int offset) {
+        return (head + offset) & (items.length - 1);
+    }
+
+    private void resize(int capacity) {
+        double[] newItems = new double[capacity];
+        int tail = Math.min(n, items.length - head);
+        System.arraycopy(items, head, newItems, 0, tail);
+        System.arraycopy(items, 0, newItems, tail, n - tail);
+        items = newItems;
+        head = 0;
+    }
+
+    private void grow() {
+        if (n == items.length) {
+            resize(items.length * 2);
+        }
+    }
+
+    private void shrink() {
+        if (items.length > MIN_CAPACITY && n <= items.length / 4) {
+            resize(items.length / 2);
+        }
+    }
+
+    public void addFirst(double item) {
+        grow();
+        head = index(-1);
+        items[head] = item;
+        n++;
+    }
+
+    public void addLast(double item) {
+        grow();
+        items[index(n)] = item;
+        n++;
+    }
+
+    private void checkAvailableToRemove() {
+        if (n == 0) {
+            throw new NoSuchElementException("Can't remove from empty Deque");
+        }
+    }
+
+    public double removeFirst() {
+        checkAvailableToRemove();
+        double item = items[head];
+        head = index(1);
+        n--;
+        shrink();
+        return item;
+    }
+
+    public double removeLast() {
+        checkAvailableToRemove();
+        double item = items[index(n - 1)];
+        n--;
+        shrink();
+        return item;
+    }
+
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < n; i++) {
+            action.accept(items[index(i)]);
+        }
+    }
+
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleDequeIterator();
+    }
+
+    private class DoubleDequeIterator implements PrimitiveIterator.OfDouble {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < n;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator is empty");
+            }
+
+            return items[index(current++)];
+        }
+    }
+
+    public static void main(String[] args) {
+        DoubleDeque deque = new DoubleDeque();
+        for (int i = 0; i < 20; i++) {
+            deque.addFirst(i);
+            deque.addLast(-i);
+        }
+
+        while (deque.size() > 2) {
+            deque.removeFirst();
+            deque.removeLast();
+        }
+
+        PrimitiveIterator.OfDouble it = deque.iterator();
+        while (it.hasNext()) {
+            System.out.println(it.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public class LongDeque {
+    private static final int MIN_CAPACITY = 8;
+    private long[] items;
+    private int head;
+    private int n;
+
+    public LongDeque() {
+        items = new long[MIN_CAPACITY];
+        head = 0;
+        n = 0;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // capacity is always a power of two, so index wraps with a mask
+    private int index(int offset) {
+        return (head + offset) & (items.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] newItems = new long[capacity];
+        int tail = Math.min(n, items.length - head);
+        System.arraycopy(items, head, newItems, 0, tail);
+        System.arraycopy(items, 0, newItems, tail, n - tail);
+        items = newItems;
+        head = 0;
+    }
+
+    private void grow() {
+        if (n == items.length) {
+            resize(items.length * 2);
+        }
+    }
+
+    private void shrink() {
+        if (items.length > MIN_CAPACITY && n <= items.length / 4) {
+            resize(items.length / 2);
+        }
+    }
+
+    public void addFirst(long item) {
+        grow();
+        head = index(-1);
+        items[head] = item;
+        n++;
+    }
+
+    public void addLast(long item) {
+        grow();
+        items[index(n)] = item;
+        n++;
+    }
+
+    private void checkAvailableToRemove() {
+        if (n == 0) {
+            throw new NoSuchElementException("Can't remove from empty Deque");
+        }
+    }
+
+    public long removeFirst() {
+        checkAvailableToRemove();
+        long item = items[head];
+        head = index(1);
+        n--;
+        shrink();
+        return item;
+    }
+
+    public long removeLast() {
+        checkAvailableToRemove();
+        long item = items[index(n - 1)];
+        n--;
+        shrink();
+        return item;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < n; i++) {
+            action.accept(items[index(i)]);
+        }
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongDequeIterator();
+    }
+
+    private class LongDequeIterator implements PrimitiveIterator.OfLong {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < n;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator is empty");
+            }
+
+            return items[index(current++)];
+        }
+    }
+
+    public static void main(String[] args) {
+        LongDeque deque = new LongDeque();
+        for (int i = 0; i < 20; i++) {
+            deque.addFirst(i);
+            deque.addLast(-i);
+        }
+
+        while (deque.size() > 2) {
+            deque.removeFirst();
+            deque.removeLast();
+        }
+
+        PrimitiveIterator.OfLong it = deque.iterator();
+        while (it.hasNext()) {
+            System.out.println(it.nextLong());
+        }
+    }
+}
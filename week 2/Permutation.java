@@ -1,17 +1,51 @@
-import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.io.IOException;
 
 public class Permutation {
-    public static void main(String[] args) {
-        RandomizedQueue<String> rand = new RandomizedQueue<String>();
+    // usage: Permutation k [file], reads stdin if no file is given
+    public static void main(String[] args) throws IOException {
         int k = Integer.parseInt(args[0]);
+        RandomizedQueue<String> reservoir;
+        try (TokenReader in = args.length > 1 ? TokenReader.open(args[1]) : TokenReader.stdin()) {
+            reservoir = sample(in, k);
+        }
+
+        for (String item : reservoir.dequeue(reservoir.size())) {
+            System.out.println(item);
+        }
+    }
 
-        while (!StdIn.isEmpty()) {
-            String item = StdIn.readString();
-            rand.enqueue(item);
+    // Reservoir sampling, Algorithm L (Li, 1994): keeps only k tokens and
+    // jumps over the tokens that would be rejected, so random numbers are
+    // drawn O(k log(n / k)) times instead of once per token. Skipped
+    // tokens are never decoded into strings.
+    private static RandomizedQueue<String> sample(TokenReader in, int k) throws IOException {
+        RandomizedQueue<String> reservoir = new RandomizedQueue<String>();
+        String token = null;
+        while (reservoir.size() < k && (token = in.next()) != null) {
+            reservoir.enqueue(token);
         }
 
-        for (int i = 0; i < k; i++) {
-            System.out.println(rand.dequeue());
+        if (token == null) {
+            return reservoir;
         }
+
+        double w = Math.exp(Math.log(uniform()) / k);
+        while (true) {
+            long skip = (long) Math.floor(Math.log(uniform()) / Math.log(1 - w));
+            if (in.skip(skip) < skip || (token = in.next()) == null) {
+                return reservoir;
+            }
+
+            reservoir.dequeue();
+            reservoir.enqueue(token);
+            w *= Math.exp(Math.log(uniform()) / k);
+        }
+    }
+
+    // uniform in (0, 1], so its logarithm is finite
+    private static double uniform() {
+        return 1.0 - StdRandom.uniform();
     }
-}
\ No newline at end of file
+}
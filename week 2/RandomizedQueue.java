@@ -1,14 +1,46 @@
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import edu.princeton.cs.algs4.StdRandom;
+import java.util.random.RandomGenerator;
 
 public class RandomizedQueue<Item> implements Iterable<Item> {
     private Item[] items;
     private int itemNum;
+    private final RandomGenerator random;
 
     public RandomizedQueue() {
+        this(null);
+    }
+
+    // queue draws from its own generator instead of shared StdRandom,
+    // null falls back to StdRandom
+    public RandomizedQueue(RandomGenerator random) {
         items = (Item[]) new Object[0];
         itemNum = 0;
+        this.random = random;
+    }
+
+    private int uniform(int n) {
+        return random == null ? StdRandom.uniform(n) : uniform(random, n);
+    }
+
+    // Lemire's nearly divisionless method: high half of 32 x 32 bit product
+    // is the result, remainder is computed only when low half is in biased zone
+    static int uniform(RandomGenerator random, int bound) {
+        long product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+        int low = (int) product;
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
     }
 
     public boolean isEmpty() {
@@ -46,7 +78,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     public Item dequeue() {
         checkEmptyQueue();
 
-        int randomNum = StdRandom.uniform(itemNum);
+        int randomNum = uniform(itemNum);
         Item item = items[randomNum];
         items[randomNum] = items[--itemNum];
         items[itemNum] = null;
@@ -59,10 +91,75 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
     public Item sample() {
         checkEmptyQueue();
-        int randomNum = StdRandom.uniform(itemNum);
+        int randomNum = uniform(itemNum);
         return items[randomNum];
     }
 
+    // removes k random items at once, shrinking the array at most once
+    public Iterable<Item> dequeue(int k) {
+        checkBatchSize(k);
+        shuffleTail(k);
+        Item[] batch = Arrays.copyOfRange(items, itemNum - k, itemNum);
+        Arrays.fill(items, itemNum - k, itemNum, null);
+        itemNum -= k;
+
+        int capacity = items.length;
+        while (itemNum > 0 && itemNum < capacity / 4) {
+            capacity /= 2;
+        }
+
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+
+        return Arrays.asList(batch);
+    }
+
+    // returns k random items, distinct unless withReplacement is set
+    public Iterable<Item> sample(int k, boolean withReplacement) {
+        Item[] batch;
+        if (withReplacement) {
+            if (k < 0) {
+                throw new IllegalArgumentException("Negative number of items");
+            }
+
+            if (k > 0) {
+                checkEmptyQueue();
+            }
+
+            batch = (Item[]) new Object[k];
+            for (int i = 0; i < k; i++) {
+                batch[i] = items[uniform(itemNum)];
+            }
+        } else {
+            checkBatchSize(k);
+            shuffleTail(k);
+            batch = Arrays.copyOfRange(items, itemNum - k, itemNum);
+        }
+
+        return Arrays.asList(batch);
+    }
+
+    // partial Fisher-Yates: moves k random items to the end of the queue in random order
+    private void shuffleTail(int k) {
+        for (int last = itemNum - 1; last >= itemNum - k; last--) {
+            int randomNum = uniform(last + 1);
+            Item item = items[randomNum];
+            items[randomNum] = items[last];
+            items[last] = item;
+        }
+    }
+
+    private void checkBatchSize(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative number of items");
+        }
+
+        if (k > itemNum) {
+            throw new java.util.NoSuchElementException("Queue has less than " + k + " items");
+        }
+    }
+
     private void checkEmptyQueue() {
         if (isEmpty()) {
             throw new java.util.NoSuchElementException("Queue is empty");
@@ -95,7 +192,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
                 throw new NoSuchElementException("Iterator is empty");
             }
 
-            int rand = StdRandom.uniform(quant);
+            int rand = uniform(quant);
             Item obj = queue[rand];
             if (rand != quant - 1) {
                 queue[rand] = queue[quant - 1];
@@ -107,6 +204,136 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         }
     }
 
+    // Iterates in random order without copying items. Order is a keyed
+    // permutation of indices [0, size()) with fresh random keys: a 4-round
+    // Feistel network over the smallest even-bit domain covering size(),
+    // cycle-walked back into range. Uses O(1) memory, but unlike iterator()
+    // it covers a random subset of permutations rather than all of them
+    // uniformly, and the queue must not be modified while iterating.
+    public Iterator<Item> lazyIterator() {
+        return new LazyRandomizedQueueIterator();
+    }
+
+    private class LazyRandomizedQueueIterator implements Iterator<Item> {
+        private final int quant = itemNum;
+        private final int halfBits;
+        private final int halfMask;
+        private final int key0 = randomKey();
+        private final int key1 = randomKey();
+        private final int key2 = randomKey();
+        private final int key3 = randomKey();
+        private int position = 0;
+
+        public LazyRandomizedQueueIterator() {
+            int bits = 32 - Integer.numberOfLeadingZeros(Math.max(quant - 1, 1));
+            halfBits = (bits + 1) / 2;
+            halfMask = (1 << halfBits) - 1;
+        }
+
+        private int randomKey() {
+            return random == null ? StdRandom.uniform(Integer.MAX_VALUE) : random.nextInt();
+        }
+
+        private int round(int half, int key) {
+            int h = (half ^ key) * 0x9E3779B1;
+            h ^= h >>> 15;
+            h *= 0x85EBCA77;
+            h ^= h >>> 13;
+            return h & halfMask;
+        }
+
+        private int permute(int index) {
+            int left = index >>> halfBits;
+            int right = index & halfMask;
+            int next;
+            next = left ^ round(right, key0);
+            left = right;
+            right = next;
+            next = left ^ round(right, key1);
+            left = right;
+            right = next;
+            next = left ^ round(right, key2);
+            left = right;
+            right = next;
+            next = left ^ round(right, key3);
+            left = right;
+            right = next;
+            return (left << halfBits) | right;
+        }
+
+        public boolean hasNext() {
+            return position < quant;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator is empty");
+            }
+
+            // domain is less than 4 * quant, so few steps are expected
+            int index = permute(position++);
+            while (index >= quant) {
+                index = permute(index);
+            }
+
+            return items[index];
+        }
+    }
+
+    // encounter order is unspecified and not randomized, so the
+    // spliterator is not ORDERED and splits its index range in O(1)
+    public Spliterator<Item> spliterator() {
+        return new RandomizedQueueSpliterator(0, itemNum);
+    }
+
+    private class RandomizedQueueSpliterator implements Spliterator<Item> {
+        private int current;
+        private final int end;
+
+        public RandomizedQueueSpliterator(int from, int to) {
+            current = from;
+            end = to;
+        }
+
+        public boolean tryAdvance(Consumer<? super Item> action) {
+            if (current >= end) {
+                return false;
+            }
+
+            action.accept(items[current++]);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super Item> action) {
+            while (current < end) {
+                action.accept(items[current++]);
+            }
+        }
+
+        public Spliterator<Item> trySplit() {
+            int mid = (current + end) >>> 1;
+            if (mid <= current) {
+                return null;
+            }
+
+            Spliterator<Item> prefix = new RandomizedQueueSpliterator(current, mid);
+            current = mid;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return end - current;
+        }
+
+        public int characteristics() {
+            return SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("RandomizedQueue main");
     }
@@ -0,0 +1,256 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class ResizingArrayDeque<Item> implements Iterable<Item> {
+    private static final int MIN_CAPACITY = 8;
+    private Item[] items;
+    private int head;
+    private int n;
+
+    public ResizingArrayDeque() {
+        items = (Item[]) new Object[MIN_CAPACITY];
+        head = 0;
+        n = 0;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // capacity is always a power of two, so index wraps with a mask
+    private int index(int offset) {
+        return (head + offset) & (items.length - 1);
+    }
+
+    private void resize(int capacity) {
+        Item[] newItems = (Item[]) new Object[capacity];
+        int tail = Math.min(n, items.length - head);
+        System.arraycopy(items, head, newItems, 0, tail);
+        System.arraycopy(items, 0, newItems, tail, n - tail);
+        items = newItems;
+        head = 0;
+    }
+
+    private void grow() {
+        if (n == items.length) {
+            resize(items.length * 2);
+        }
+    }
+
+    private void grow(int needed) {
+        int capacity = items.length;
+        while (capacity < needed) {
+            capacity *= 2;
+        }
+
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+    }
+
+    private void shrink() {
+        int capacity = items.length;
+        while (capacity > MIN_CAPACITY && n <= capacity / 4) {
+            capacity /= 2;
+        }
+
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+    }
+
+    public void addFirst(Item item) {
+        checkNullItem(item);
+        grow();
+        head = index(-1);
+        items[head] = item;
+        n++;
+    }
+
+    public void addLast(Item item) {
+        checkNullItem(item);
+        grow();
+        items[index(n)] = item;
+        n++;
+    }
+
+    private void checkAvailableToRemove() {
+        if (n == 0) {
+            throw new NoSuchElementException("Can't remove from empty Deque");
+        }
+    }
+
+    private void checkNullItem(Item i) {
+        if (i == null) {
+            throw new NullPointerException("Item is null");
+        }
+    }
+
+    public Item removeFirst() {
+        checkAvailableToRemove();
+        Item item = items[head];
+        items[head] = null;
+        head = index(1);
+        n--;
+        shrink();
+        return item;
+    }
+
+    public Item removeLast() {
+        checkAvailableToRemove();
+        int last = index(n - 1);
+        Item item = items[last];
+        items[last] = null;
+        n--;
+        shrink();
+        return item;
+    }
+
+    // adds src[off] .. src[off + len - 1] in order, nothing is added if any of them is null
+    public void addAllLast(Item[] src, int off, int len) {
+        checkRange(src.length, off, len);
+        for (int i = off; i < off + len; i++) {
+            checkNullItem(src[i]);
+        }
+
+        grow(n + len);
+        int start = index(n);
+        int tail = Math.min(len, items.length - start);
+        System.arraycopy(src, off, items, start, tail);
+        System.arraycopy(src, off + tail, items, 0, len - tail);
+        n += len;
+    }
+
+    // removes up to max first items into dst[0] .. dst[max - 1], returns number of removed items
+    public int drainFirst(Item[] dst, int max) {
+        checkRange(dst.length, 0, max);
+        int count = Math.min(n, max);
+        int tail = Math.min(count, items.length - head);
+        System.arraycopy(items, head, dst, 0, tail);
+        System.arraycopy(items, 0, dst, tail, count - tail);
+        Arrays.fill(items, head, head + tail, null);
+        Arrays.fill(items, 0, count - tail, null);
+        head = index(count);
+        n -= count;
+        shrink();
+        return count;
+    }
+
+    // removes all items from first to last passing each to action, returns number of removed items
+    public int drainTo(Consumer<? super Item> action) {
+        int count = 0;
+        while (n > 0) {
+            Item item = items[head];
+            items[head] = null;
+            head = index(1);
+            n--;
+            count++;
+            action.accept(item);
+        }
+
+        shrink();
+        return count;
+    }
+
+    private void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || len > length - off) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds");
+        }
+    }
+
+    public Iterator<Item> iterator() {
+        return new ResizingArrayDequeIterator();
+    }
+
+    private class ResizingArrayDequeIterator implements Iterator<Item> {
+        private int current = 0;
+
+        public boolean hasNext() {
+            return current < n;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator is empty");
+            }
+
+            return items[index(current++)];
+        }
+    }
+
+    public Spliterator<Item> spliterator() {
+        return new ResizingArrayDequeSpliterator(0, n);
+    }
+
+    private class ResizingArrayDequeSpliterator implements Spliterator<Item> {
+        private int current;
+        private final int end;
+
+        public ResizingArrayDequeSpliterator(int from, int to) {
+            current = from;
+            end = to;
+        }
+
+        public boolean tryAdvance(Consumer<? super Item> action) {
+            if (current >= end) {
+                return false;
+            }
+
+            action.accept(items[index(current++)]);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super Item> action) {
+            while (current < end) {
+                action.accept(items[index(current++)]);
+            }
+        }
+
+        public Spliterator<Item> trySplit() {
+            int mid = (current + end) >>> 1;
+            if (mid <= current) {
+                return null;
+            }
+
+            Spliterator<Item> prefix = new ResizingArrayDequeSpliterator(current, mid);
+            current = mid;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return end - current;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    public static void main(String[] args) {
+        ResizingArrayDeque<Integer> deque = new ResizingArrayDeque<Integer>();
+        for (int i = 0; i < 20; i++) {
+            deque.addFirst(i);
+            deque.addLast(-i);
+        }
+
+        while (deque.size() > 2) {
+            deque.removeFirst();
+            deque.removeLast();
+        }
+
+        for (int item : deque) {
+            System.out.println(item);
+        }
+    }
+}
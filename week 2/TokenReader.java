@@ -0,0 +1,162 @@
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Whitespace separated tokens of a file or stdin, scanned as raw bytes.
+// Files are memory-mapped window by window, stdin is read through its
+// channel into a direct buffer, so input is never copied into the heap
+// and a String is made only when next() is called. Token is split on
+// the ASCII characters Character.isWhitespace accepts, its bytes are
+// decoded as UTF-8.
+final class TokenReader implements Closeable {
+    private static final int WINDOW = 1 << 26;
+    private static final int BUFFER = 1 << 20;
+
+    private final FileChannel file;            // mapped input, null for stream
+    private final ReadableByteChannel stream;  // read input, null for file
+    private final long fileSize;
+    private long windowStart;                  // file offset of buffer[0]
+    private ByteBuffer buffer;
+    private int pos;
+    private int start;                         // last token is buffer[start, pos)
+    private byte[] bytes = new byte[64];
+
+    private TokenReader(FileChannel file, ReadableByteChannel stream) throws IOException {
+        this.file = file;
+        this.stream = stream;
+        if (file != null) {
+            fileSize = file.size();
+            buffer = ByteBuffer.allocate(0);
+        } else {
+            fileSize = -1;
+            buffer = ByteBuffer.allocateDirect(BUFFER);
+            buffer.limit(0);
+        }
+    }
+
+    public static TokenReader open(String path) throws IOException {
+        return new TokenReader(FileChannel.open(Paths.get(path), StandardOpenOption.READ), null);
+    }
+
+    public static TokenReader stdin() throws IOException {
+        return new TokenReader(null, new FileInputStream(FileDescriptor.in).getChannel());
+    }
+
+    // returns next token, or null if input is over
+    public String next() throws IOException {
+        if (!scan()) {
+            return null;
+        }
+
+        int length = pos - start;
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // skips up to count tokens without decoding them, returns number of skipped tokens
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && scan()) {
+            skipped++;
+        }
+
+        return skipped;
+    }
+
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+        } else {
+            stream.close();
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+
+    // finds next token and leaves it in buffer[start, pos), returns false if input is over
+    private boolean scan() throws IOException {
+        while (true) {
+            int limit = buffer.limit();
+            while (pos < limit && isSpace(buffer.get(pos))) {
+                pos++;
+            }
+
+            if (pos < limit) {
+                break;
+            }
+
+            if (!refill(pos)) {
+                return false;
+            }
+        }
+
+        start = pos;
+        while (true) {
+            int limit = buffer.limit();
+            while (pos < limit && !isSpace(buffer.get(pos))) {
+                pos++;
+            }
+
+            if (pos < limit || !refill(start)) {
+                return true;
+            }
+        }
+    }
+
+    // drops bytes before keep and loads more input after the rest,
+    // shifting pos and start; returns false if there is nothing more to load
+    private boolean refill(int keep) throws IOException {
+        if (file != null) {
+            if (windowStart + buffer.limit() >= fileSize) {
+                return false;
+            }
+
+            map(keep);
+        } else {
+            buffer.position(keep);
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                // token does not fit, grow buffer
+                ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+
+        pos -= keep;
+        start -= keep;
+        return file != null || read();
+    }
+
+    private void map(int keep) throws IOException {
+        long from = windowStart + keep;
+        long kept = buffer.limit() - keep;
+        long length = Math.min(fileSize - from, Math.max(WINDOW, 2 * kept));
+        buffer = file.map(FileChannel.MapMode.READ_ONLY, from, length);
+        windowStart = from;
+    }
+
+    private boolean read() throws IOException {
+        int read;
+        do {
+            read = stream.read(buffer);
+        } while (read == 0);
+
+        buffer.flip();
+        return read > 0;
+    }
+}
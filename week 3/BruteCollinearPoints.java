@@ -5,25 +5,23 @@ public class BruteCollinearPoints {
     private final LineSegment[] segm;
 
     public BruteCollinearPoints(Point[] points) {
-        checkDuplicates(points);
+        this(PackedPoints.fromPoints(points));
+    }
 
-        int len = points.length;
-        Point[] pCopy = Arrays.copyOf(points, points.length);
-        Arrays.sort(pCopy);
+    public BruteCollinearPoints(PackedPoints points) {
+        int len = points.size();
+        int[] xs = points.xs();
+        int[] ys = points.ys();
         ArrayList<LineSegment> found = new ArrayList<LineSegment>();
 
         for (int i = 0; i < len - 3; i++) {
-            Point a = pCopy[i];
             for (int j = i + 1; j < len - 2; j++) {
-                Point b = pCopy[j];
-                double slope = a.slopeTo(b);
+                double slope = PackedPoints.slope(xs[i], ys[i], xs[j], ys[j]);
                 for (int k = j + 1; k < len - 1; k++) {
-                    Point c = pCopy[k];
-                    if (slope == b.slopeTo(c)) {
+                    if (slope == PackedPoints.slope(xs[j], ys[j], xs[k], ys[k])) {
                         for (int l = k + 1; l < len; l++) {
-                            Point d = pCopy[l];
-                            if (slope == c.slopeTo(d)) {
-                                found.add(new LineSegment(a, d));
+                            if (slope == PackedPoints.slope(xs[k], ys[k], xs[l], ys[l])) {
+                                found.add(new LineSegment(points.point(i), points.point(l)));
                             }
                         }
                     }
@@ -42,15 +40,6 @@ public class BruteCollinearPoints {
         return Arrays.copyOf(this.segm, this.segm.length);
     }
 
-    private void checkDuplicates(Point[] points) {
-        for (int i = 0; i < points.length - 1; i++) {
-            for (int j = i + 1; j < points.length; j++) {
-                if (points[i].compareTo(points[j]) == 0)
-                    throw new IllegalArgumentException("Duplicated points in input array");
-            }
-        }
-    }
-
     public static void main(String[] args) {
 
     }
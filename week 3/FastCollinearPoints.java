@@ -1,57 +1,135 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class FastCollinearPoints {
+    private static final int ORIGINS_PER_TASK = 64;   // origins scanned sequentially by one task
 
     private final LineSegment[] segm;
 
     public FastCollinearPoints(Point[] points) {
-        checkDuplicates(points);
-        Point[] pointsCopy = Arrays.copyOf(points, points.length);
-        Arrays.sort(pointsCopy);
-        int len = points.length;
-        ArrayList<LineSegment> found = new ArrayList<LineSegment>();
-
-        for (Point cur: points) {
-            Point[] pCopy = Arrays.copyOf(pointsCopy, pointsCopy.length);
-            Arrays.sort(pCopy, cur.slopeOrder());
-
-            double curSlope;
-            double prevSlope = Double.NEGATIVE_INFINITY;
-            List<Point> curSegm = new ArrayList<Point>();
-
-            for (int i = 1; i < len; i++) {
-                curSlope = cur.slopeTo(pCopy[i]);
-                if (curSlope == prevSlope) {
-                    curSegm.add(pCopy[i]);
-                } else {
-                    if (curSegm.size() >= 3) {
-                        curSegm.add(cur);
-                        Collections.sort(curSegm);
-                        if (curSegm.get(0) == cur) {
-                            found.add(new LineSegment(cur, curSegm.get(curSegm.size() - 1)));
-                        }
-                    }
-
-                    curSegm.clear();
-                    curSegm.add(pCopy[i]);
+        this(points, 1);
+    }
+
+    // scans origins on parallelism threads, segments are the same as in serial scan
+    public FastCollinearPoints(Point[] points, int parallelism) {
+        this(PackedPoints.fromPoints(points), parallelism);
+    }
+
+    public FastCollinearPoints(PackedPoints points) {
+        this(points, 1);
+    }
+
+    // scans origins on parallelism threads
+    public FastCollinearPoints(PackedPoints points, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        List<LineSegment> found;
+        if (parallelism == 1) {
+            found = new ArrayList<LineSegment>();
+            Scratch scratch = new Scratch(points.size());
+            for (int cur = 0; cur < points.size(); cur++) {
+                collect(cur, points, scratch, found);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                found = pool.invoke(new OriginTask(points, 0, points.size(), new ThreadLocal<Scratch>()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        this.segm = found.toArray(new LineSegment[found.size()]);
+    }
+
+    // Adds segments which start at point cur. Slopes to all points are
+    // computed once into scratch and sorted together with point indices,
+    // ties go by index, so in every run of equal slopes the first and the
+    // last index are the smallest and the largest point of the run.
+    private static void collect(int cur, PackedPoints points, Scratch scratch, List<LineSegment> found) {
+        int len = points.size();
+        int[] xs = points.xs();
+        int[] ys = points.ys();
+        int x = xs[cur];
+        int y = ys[cur];
+        double[] slopes = scratch.slopes;
+        int[] order = scratch.order;
+        for (int i = 0; i < len; i++) {
+            slopes[i] = PackedPoints.slope(x, y, xs[i], ys[i]);
+            order[i] = i;
+        }
+
+        sort(slopes, order, 0, len - 1);
+
+        // slopes[0] is cur itself, the only negative infinity
+        int first = 1;
+        for (int i = 2; i <= len; i++) {
+            if (i == len || slopes[i] != slopes[first]) {
+                if (i - first >= 3 && cur < order[first]) {
+                    found.add(new LineSegment(points.point(cur), points.point(order[i - 1])));
                 }
 
-                prevSlope = curSlope;
+                first = i;
             }
+        }
+    }
+
+    private static boolean less(double[] slopes, int[] order, int i, int j) {
+        return slopes[i] < slopes[j] || (slopes[i] == slopes[j] && order[i] < order[j]);
+    }
 
-            if (curSegm.size() >= 3) {
-                curSegm.add(cur);
-                Collections.sort(curSegm);
-                if (curSegm.get(0) == cur) {
-                    found.add(new LineSegment(cur, curSegm.get(curSegm.size() - 1)));
+    private static void swap(double[] slopes, int[] order, int i, int j) {
+        double slope = slopes[i];
+        slopes[i] = slopes[j];
+        slopes[j] = slope;
+        int index = order[i];
+        order[i] = order[j];
+        order[j] = index;
+    }
+
+    // sorts slopes[lo..hi] with order alongside: quicksort with median of
+    // three pivot, insertion sort for short ranges, recursion on smaller part
+    private static void sort(double[] slopes, int[] order, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            if (less(slopes, order, mid, lo)) swap(slopes, order, mid, lo);
+            if (less(slopes, order, hi, lo)) swap(slopes, order, hi, lo);
+            if (less(slopes, order, hi, mid)) swap(slopes, order, hi, mid);
+            swap(slopes, order, mid, hi - 1);
+
+            int pivot = hi - 1;
+            int i = lo;
+            int j = hi - 1;
+            while (true) {
+                while (less(slopes, order, ++i, pivot)) { }
+                while (less(slopes, order, pivot, --j)) { }
+                if (i >= j) {
+                    break;
                 }
+
+                swap(slopes, order, i, j);
+            }
+
+            swap(slopes, order, i, pivot);
+            if (i - lo < hi - i) {
+                sort(slopes, order, lo, i - 1);
+                lo = i + 1;
+            } else {
+                sort(slopes, order, i + 1, hi);
+                hi = i - 1;
             }
         }
 
-        this.segm = found.toArray(new LineSegment[found.size()]);
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(slopes, order, j, j - 1); j--) {
+                swap(slopes, order, j, j - 1);
+            }
+        }
     }
 
     public int numberOfSegments() {
@@ -62,12 +140,57 @@ public class FastCollinearPoints {
         return Arrays.copyOf(this.segm, this.segm.length);
     }
 
-    private void checkDuplicates(Point[] points) {
-        for (int i = 0; i < points.length - 1; i++) {
-            for (int j = i + 1; j < points.length; j++) {
-                if (points[i].compareTo(points[j]) == 0)
-                    throw new IllegalArgumentException("Duplicated points in input array");
+    // per thread buffers of origin scan
+    private static class Scratch {
+        private final double[] slopes;
+        private final int[] order;
+
+        Scratch(int n) {
+            slopes = new double[n];
+            order = new int[n];
+        }
+    }
+
+    // Scans origins lo .. hi - 1. Ranges are split in halves and results
+    // are joined left to right, so segments come in the same order as in
+    // serial scan.
+    private static class OriginTask extends RecursiveTask<List<LineSegment>> {
+        private final PackedPoints points;
+        private final int lo;
+        private final int hi;
+        private final ThreadLocal<Scratch> scratches;
+
+        OriginTask(PackedPoints points, int lo, int hi, ThreadLocal<Scratch> scratches) {
+            this.points = points;
+            this.lo = lo;
+            this.hi = hi;
+            this.scratches = scratches;
+        }
+
+        @Override
+        protected List<LineSegment> compute() {
+            if (hi - lo <= ORIGINS_PER_TASK) {
+                Scratch scratch = scratches.get();
+                if (scratch == null) {
+                    scratch = new Scratch(points.size());
+                    scratches.set(scratch);
+                }
+
+                List<LineSegment> found = new ArrayList<LineSegment>();
+                for (int cur = lo; cur < hi; cur++) {
+                    collect(cur, points, scratch, found);
+                }
+
+                return found;
             }
+
+            int mid = (lo + hi) >>> 1;
+            OriginTask left = new OriginTask(points, lo, mid, scratches);
+            OriginTask right = new OriginTask(points, mid, hi, scratches);
+            right.fork();
+            List<LineSegment> found = left.compute();
+            found.addAll(right.join());
+            return found;
         }
     }
 
@@ -0,0 +1,175 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Finds the same segments as FastCollinearPoints without sorting by slope.
+// Points seen from origin are grouped by exact direction: (dx, dy) reduced
+// by their gcd and turned to point upwards, packed into a long key. Groups
+// live in open-addressing table that is allocated once and cleared by
+// bumping a generation stamp, so each origin takes O(n) expected time.
+// Coordinate ranges must be below 2^31 so that dx and dy fit in an int.
+public class HashedCollinearPoints {
+    private final LineSegment[] segm;
+
+    public HashedCollinearPoints(Point[] points) {
+        this(PackedPoints.fromPoints(points));
+    }
+
+    public HashedCollinearPoints(PackedPoints points) {
+        int len = points.size();
+        int[] xs = points.xs();
+        int[] ys = points.ys();
+        checkRange(xs);
+        checkRange(ys);
+
+        SlopeTable table = new SlopeTable(len);
+        int[] slots = new int[len];
+        ArrayList<LineSegment> found = new ArrayList<LineSegment>();
+
+        for (int i = 0; i < len; i++) {
+            table.clear();
+
+            // a line through a smaller point was already reported from it
+            for (int j = 0; j < i; j++) {
+                table.block(key(xs[j] - xs[i], ys[j] - ys[i]));
+            }
+
+            for (int j = i + 1; j < len; j++) {
+                slots[j] = table.add(key(xs[j] - xs[i], ys[j] - ys[i]), j);
+            }
+
+            for (int j = i + 1; j < len; j++) {
+                int slot = slots[j];
+                if (table.last(slot) == j && table.count(slot) >= 3) {
+                    found.add(new LineSegment(points.point(i), points.point(j)));
+                }
+            }
+        }
+
+        this.segm = found.toArray(new LineSegment[found.size()]);
+    }
+
+    public int numberOfSegments() {
+        return this.segm.length;
+    }
+
+    public LineSegment[] segments() {
+        return Arrays.copyOf(this.segm, this.segm.length);
+    }
+
+    // direction of (dx, dy) reduced to lowest terms, with dy > 0 or dy = 0 and dx > 0
+    private static long key(int dx, int dy) {
+        if (dy < 0 || (dy == 0 && dx < 0)) {
+            dx = -dx;
+            dy = -dy;
+        }
+
+        int g = gcd(Math.abs(dx), dy);
+        return ((long) (dy / g) << 32) | ((dx / g) & 0xFFFFFFFFL);
+    }
+
+    // binary gcd of non-negative values, not both zero
+    private static int gcd(int a, int b) {
+        if (a == 0 || b == 0) {
+            return a | b;
+        }
+
+        int shift = Integer.numberOfTrailingZeros(a | b);
+        a >>>= Integer.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>>= Integer.numberOfTrailingZeros(b);
+            if (a > b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+
+            b -= a;
+        }
+
+        return a << shift;
+    }
+
+    private void checkRange(int[] coords) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int c : coords) {
+            min = Math.min(min, c);
+            max = Math.max(max, c);
+        }
+
+        if (coords.length > 0 && (long) max - min > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Coordinates range is too large");
+        }
+    }
+
+    // Counts points per slope key. Slot is in use if its stamp equals
+    // current generation, so clear() does not touch the arrays.
+    private static class SlopeTable {
+        private final long[] keys;
+        private final int[] stamps;
+        private final int[] counts;    // number of points, or -1 if key is blocked
+        private final int[] lasts;     // largest index added with key
+        private final int mask;
+        private int generation;
+
+        SlopeTable(int n) {
+            int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) * 2;
+            keys = new long[capacity];
+            stamps = new int[capacity];
+            counts = new int[capacity];
+            lasts = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void clear() {
+            generation++;
+            if (generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            int slot = (int) (h >>> 32) & mask;
+            while (stamps[slot] == generation && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (stamps[slot] != generation) {
+                stamps[slot] = generation;
+                keys[slot] = key;
+                counts[slot] = 0;
+            }
+
+            return slot;
+        }
+
+        void block(long key) {
+            counts[slot(key)] = -1;
+        }
+
+        // adds point with index, returns its slot
+        int add(long key, int index) {
+            int slot = slot(key);
+            if (counts[slot] >= 0) {
+                counts[slot]++;
+            }
+
+            lasts[slot] = index;
+            return slot;
+        }
+
+        int count(int slot) {
+            return counts[slot];
+        }
+
+        int last(int slot) {
+            return lasts[slot];
+        }
+    }
+
+    public static void main(String[] args) {
+
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.Arrays;
+import edu.princeton.cs.algs4.In;
+
+// Immutable set of points kept as two int arrays instead of Point objects,
+// sorted in Point order (by y, then by x). Detectors scan coordinates
+// sequentially and make Point objects only for segment endpoints. Loaders
+// reject null and duplicated points, duplicates are found as adjacent
+// keys after sorting, so validation costs O(n log n).
+public class PackedPoints {
+    private final int[] xs;
+    private final int[] ys;
+
+    // keys must be sorted, see key()
+    private PackedPoints(long[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] == keys[i]) {
+                throw new IllegalArgumentException("Duplicated points in input array");
+            }
+        }
+
+        xs = new int[keys.length];
+        ys = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            xs[i] = (int) keys[i] ^ Integer.MIN_VALUE;
+            ys[i] = (int) (keys[i] >> 32);
+        }
+    }
+
+    public static PackedPoints fromPoints(Point[] points) {
+        if (points == null) {
+            throw new IllegalArgumentException("Points array is null");
+        }
+
+        long[] keys = new long[points.length];
+        for (int i = 0; i < points.length; i++) {
+            if (points[i] == null) {
+                throw new IllegalArgumentException("Point " + i + " is null");
+            }
+
+            keys[i] = key(points[i].x(), points[i].y());
+        }
+
+        Arrays.sort(keys);
+        return new PackedPoints(keys);
+    }
+
+    // reads file of format used by course: number of points, then x and y of each
+    public static PackedPoints fromFile(String filename) {
+        In in = new In(filename);
+        int n = in.readInt();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int x = in.readInt();
+            int y = in.readInt();
+            keys[i] = key(x, y);
+        }
+
+        Arrays.sort(keys);
+        return new PackedPoints(keys);
+    }
+
+    // y in high half, x with flipped sign bit in low half, so signed
+    // order of keys is Point order
+    private static long key(int x, int y) {
+        return ((long) y << 32) | ((x ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public int x(int i) {
+        return xs[i];
+    }
+
+    public int y(int i) {
+        return ys[i];
+    }
+
+    public Point point(int i) {
+        return new Point(xs[i], ys[i]);
+    }
+
+    // same as points[i].slopeTo(points[j])
+    public double slopeTo(int i, int j) {
+        return slope(xs[i], ys[i], xs[j], ys[j]);
+    }
+
+    // same as new Point(x0, y0).slopeTo(new Point(x1, y1))
+    static double slope(int x0, int y0, int x1, int y1) {
+        if (x0 == x1 && y0 == y1) {
+            return Double.NEGATIVE_INFINITY;
+        } else if (x0 == x1) {
+            return Double.POSITIVE_INFINITY;
+        } else if (y0 == y1) {
+            return +0.0;
+        } else {
+            return (y1 - y0) / (double) (x1 - x0);
+        }
+    }
+
+    // arrays are shared, callers must not change them
+    int[] xs() {
+        return xs;
+    }
+
+    int[] ys() {
+        return ys;
+    }
+}